@@ -1,6 +1,9 @@
 package com.universeodyssey.quiz.config;
 
-import com.universeodyssey.quiz.service.QuizService;
+import com.universeodyssey.quiz.service.AttemptedUserIndex;
+import com.universeodyssey.quiz.service.LeaderboardService;
+import com.universeodyssey.quiz.service.LeaderboardSnapshotService;
+import com.universeodyssey.quiz.service.QuizGenerationService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.context.event.ApplicationReadyEvent;
@@ -10,13 +13,27 @@ import org.springframework.stereotype.Component;
 @Component
 public class StartupQuizInitializer {
     private final Logger log = LoggerFactory.getLogger(StartupQuizInitializer.class);
-    private final QuizService quizService;
+    private final QuizGenerationService generationService;
+    private final LeaderboardService leaderboardService;
+    private final LeaderboardSnapshotService snapshotService;
+    private final AttemptedUserIndex attemptIndex;
 
-    public StartupQuizInitializer(QuizService quizService) { this.quizService = quizService; }
+    public StartupQuizInitializer(QuizGenerationService generationService, LeaderboardService leaderboardService,
+            LeaderboardSnapshotService snapshotService, AttemptedUserIndex attemptIndex) {
+        this.generationService = generationService;
+        this.leaderboardService = leaderboardService;
+        this.snapshotService = snapshotService;
+        this.attemptIndex = attemptIndex;
+    }
 
     @EventListener(ApplicationReadyEvent.class)
     public void onStartup() {
-        log.info("Initializing today's quiz at startup");
-        quizService.generateTodayQuizIfMissing();
+        log.info("Filling the quiz buffer in the background");
+        generationService.fillBuffer();
+        log.info("Loading leaderboard from user_points");
+        leaderboardService.rebuild();
+        snapshotService.loadTiers();
+        log.info("Loading attempted-user index from quiz_attempt");
+        attemptIndex.load();
     }
 }
@@ -1,14 +1,23 @@
 package com.universeodyssey.quiz.controller;
 
-import com.universeodyssey.quiz.repository.UserPointsRepository;
+import com.universeodyssey.quiz.entity.LeaderboardSnapshot;
+import com.universeodyssey.quiz.entity.LeaderboardTier;
+import com.universeodyssey.quiz.service.LeaderboardService;
+import com.universeodyssey.quiz.service.LeaderboardSnapshotService;
+import com.universeodyssey.quiz.service.RankedLeaderboard;
 import com.universeodyssey.universe_odyssey.model.User;
 import com.universeodyssey.universe_odyssey.repository.UserRepository;
+import jakarta.servlet.http.HttpSession;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -17,11 +26,17 @@ import java.util.Map;
 @RestController
 @RequestMapping("/api/leaderboard")
 public class LeaderboardController {
-    private final UserPointsRepository userPointsRepository;
+    private static final int MAX_RADIUS = 50;
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final LeaderboardService leaderboardService;
+    private final LeaderboardSnapshotService snapshotService;
     private final UserRepository userRepository;
 
-    public LeaderboardController(UserPointsRepository userPointsRepository, UserRepository userRepository) {
-        this.userPointsRepository = userPointsRepository;
+    public LeaderboardController(LeaderboardService leaderboardService, LeaderboardSnapshotService snapshotService,
+            UserRepository userRepository) {
+        this.leaderboardService = leaderboardService;
+        this.snapshotService = snapshotService;
         this.userRepository = userRepository;
     }
 
@@ -31,30 +46,123 @@ public class LeaderboardController {
         return ResponseEntity.ok(list);
     }
 
+    @GetMapping("/me")
+    public ResponseEntity<?> me(@RequestParam(defaultValue = "5") int radius, Authentication auth,
+            HttpSession session) {
+        Long userId = currentUserId(auth, session);
+        if (userId == null)
+            return ResponseEntity.status(401).build();
+        RankedLeaderboard.Neighborhood around = leaderboardService.around(userId, clampRadius(radius));
+        if (around == null) {
+            // signed in but has not scored yet
+            Map<String,Object> body = new HashMap<>();
+            body.put("userId", userId);
+            body.put("rank", null);
+            body.put("totalPlayers", leaderboardService.size());
+            body.put("around", List.of());
+            return ResponseEntity.ok(body);
+        }
+        return ResponseEntity.ok(toStanding(around));
+    }
+
+    @GetMapping("/around/{userId}")
+    public ResponseEntity<?> around(@PathVariable Long userId, @RequestParam(defaultValue = "5") int radius) {
+        RankedLeaderboard.Neighborhood around = leaderboardService.around(userId, clampRadius(radius));
+        if (around == null)
+            return ResponseEntity.notFound().build();
+        return ResponseEntity.ok(toStanding(around));
+    }
+
     @GetMapping("/tiers")
     public ResponseEntity<?> tiers() {
-        // simple static tiers; in a full implementation we would read the DB
         List<Map<String,Object>> tiers = new ArrayList<>();
-        tiers.add(Map.of("name","Radiant","capacity",10));
-        tiers.add(Map.of("name","Immortal","capacity",25));
-        tiers.add(Map.of("name","Guardian","capacity",50));
-        tiers.add(Map.of("name","Participant","capacity",999999));
+        for (LeaderboardTier t : snapshotService.getTiers()) {
+            tiers.add(Map.of("name", t.getName(), "capacity", t.getCapacity()));
+        }
         return ResponseEntity.ok(tiers);
     }
 
+    @GetMapping("/history")
+    public ResponseEntity<?> historyDates() {
+        return ResponseEntity.ok(snapshotService.getSnapshotDates());
+    }
+
+    @GetMapping("/history/{date}")
+    public ResponseEntity<?> history(@PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(defaultValue = "0") int page, @RequestParam(defaultValue = "50") int size) {
+        if (page < 0 || size < 1)
+            return ResponseEntity.badRequest().body("Invalid page or size");
+        size = Math.min(size, MAX_PAGE_SIZE);
+        List<Map<String,Object>> rows = new ArrayList<>();
+        for (LeaderboardSnapshot s : snapshotService.getSnapshotPage(date, page, size)) {
+            Map<String,Object> item = new HashMap<>();
+            item.put("userId", s.getUserId());
+            item.put("username", s.getUsername() == null ? "Unknown" : s.getUsername());
+            item.put("totalPoints", s.getTotalPoints());
+            item.put("rank", s.getRank());
+            item.put("tier", s.getTier());
+            rows.add(item);
+        }
+        Map<String,Object> body = new HashMap<>();
+        body.put("date", date);
+        body.put("page", page);
+        body.put("size", size);
+        body.put("totalPlayers", snapshotService.countSnapshot(date));
+        body.put("entries", rows);
+        return ResponseEntity.ok(body);
+    }
+
     private List<Map<String,Object>> getTopUsers() {
-        List<Map<String,Object>> out = new ArrayList<>();
-        var top = userPointsRepository.findTop100ByOrderByTotalPointsDesc();
+        var top = leaderboardService.top(100);
+        List<Map<String,Object>> out = new ArrayList<>(top.size());
         int rank = 1;
-        for (var up : top) {
+        for (RankedLeaderboard.Entry e : top) {
             Map<String,Object> item = new HashMap<>();
-            item.put("userId", up.getUserId());
-            User u = userRepository.findById(up.getUserId()).orElse(null);
-            item.put("username", u == null ? "Unknown" : u.getUsername());
-            item.put("totalPoints", up.getTotalPoints());
+            item.put("userId", e.getUserId());
+            item.put("username", e.getUsername() == null ? "Unknown" : e.getUsername());
+            item.put("totalPoints", e.getPoints());
             item.put("rank", rank++);
             out.add(item);
         }
         return out;
     }
+
+    private Map<String,Object> toStanding(RankedLeaderboard.Neighborhood around) {
+        RankedLeaderboard.Entry me = around.getEntry();
+        Map<String,Object> body = new HashMap<>();
+        body.put("userId", me.getUserId());
+        body.put("username", me.getUsername() == null ? "Unknown" : me.getUsername());
+        body.put("totalPoints", me.getPoints());
+        body.put("rank", around.getRank());
+        body.put("totalPlayers", around.getTotal());
+        // share of players at or below this rank, e.g. 100.0 for first place
+        double percentile = 100.0 * (around.getTotal() - around.getRank() + 1) / around.getTotal();
+        body.put("percentile", Math.round(percentile * 10) / 10.0);
+        List<Map<String,Object>> window = new ArrayList<>(around.getEntries().size());
+        int rank = around.getFirstRank();
+        for (RankedLeaderboard.Entry e : around.getEntries()) {
+            Map<String,Object> item = new HashMap<>();
+            item.put("userId", e.getUserId());
+            item.put("username", e.getUsername() == null ? "Unknown" : e.getUsername());
+            item.put("totalPoints", e.getPoints());
+            item.put("rank", rank++);
+            window.add(item);
+        }
+        body.put("around", window);
+        return body;
+    }
+
+    private Long currentUserId(Authentication auth, HttpSession session) {
+        // AuthController stores the id in the session on login; only fall back to a lookup without it
+        Object sessionUserId = session == null ? null : session.getAttribute("userId");
+        if (sessionUserId != null)
+            return sessionUserId instanceof Long ? (Long) sessionUserId : Long.parseLong(sessionUserId.toString());
+        if (auth == null)
+            return null;
+        return userRepository.findByEmail(auth.getName()).map(User::getId).orElse(null);
+    }
+
+    private static int clampRadius(int radius) {
+        return Math.max(0, Math.min(MAX_RADIUS, radius));
+    }
 }
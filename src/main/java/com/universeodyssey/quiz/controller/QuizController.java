@@ -3,6 +3,7 @@ package com.universeodyssey.quiz.controller;
 import com.universeodyssey.quiz.dto.QuizDto;
 import com.universeodyssey.quiz.dto.SubmitQuizRequest;
 import com.universeodyssey.quiz.dto.SubmitQuizResponse;
+import com.universeodyssey.quiz.service.QuizGenerationService;
 import com.universeodyssey.quiz.service.QuizService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
@@ -14,9 +15,11 @@ import java.security.Principal;
 @RequestMapping("/api/quiz")
 public class QuizController {
     private final QuizService quizService;
+    private final QuizGenerationService generationService;
 
-    public QuizController(QuizService quizService) {
+    public QuizController(QuizService quizService, QuizGenerationService generationService) {
         this.quizService = quizService;
+        this.generationService = generationService;
     }
 
     @GetMapping("/today")
@@ -39,6 +42,8 @@ public class QuizController {
         SubmitQuizResponse resp = quizService.submitAnswers(email, request);
         if (resp.message.equals("Already submitted"))
             return ResponseEntity.status(409).body(resp);
+        if (resp.message.equals("Pending"))
+            return ResponseEntity.accepted().body(resp);
         return ResponseEntity.ok(resp);
     }
 
@@ -55,7 +60,7 @@ public class QuizController {
             return ResponseEntity.status(403).body("Admin access required");
         }
 
-        quizService.regenerateTodayQuiz();
+        generationService.regenerateToday();
         return ResponseEntity.ok().body("Quiz regenerated successfully");
     }
 }
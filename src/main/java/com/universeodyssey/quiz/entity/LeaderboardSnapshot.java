@@ -4,7 +4,9 @@ import jakarta.persistence.*;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "leaderboard_snapshot")
+@Table(name = "leaderboard_snapshot",
+        uniqueConstraints = {@UniqueConstraint(columnNames = {"snapshot_date", "user_id"})},
+        indexes = {@Index(name = "idx_snapshot_date_rank", columnList = "snapshot_date, player_rank")})
 public class LeaderboardSnapshot {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -22,6 +24,13 @@ public class LeaderboardSnapshot {
     @Column(nullable = false)
     private String tier;
 
+    // points and display name as of the snapshot, so history pages need no joins
+    @Column(name = "total_points")
+    private Long totalPoints;
+
+    @Column(name = "username")
+    private String username;
+
     public LeaderboardSnapshot() {
     }
 
@@ -64,4 +73,20 @@ public class LeaderboardSnapshot {
     public void setTier(String tier) {
         this.tier = tier;
     }
+
+    public Long getTotalPoints() {
+        return totalPoints;
+    }
+
+    public void setTotalPoints(Long totalPoints) {
+        this.totalPoints = totalPoints;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public void setUsername(String username) {
+        this.username = username;
+    }
 }
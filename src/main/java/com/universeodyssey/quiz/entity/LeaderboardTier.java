@@ -0,0 +1,38 @@
+package com.universeodyssey.quiz.entity;
+
+import jakarta.persistence.*;
+
+@Entity
+@Table(name = "leaderboard_tier")
+public class LeaderboardTier {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 100)
+    private String name;
+
+    // number of ranks this tier holds, counted after the tiers sorted before it
+    @Column(nullable = false)
+    private Integer capacity;
+
+    @Column(name = "sort_index", nullable = false)
+    private Integer sortIndex;
+
+    public LeaderboardTier() {}
+
+    public LeaderboardTier(String name, Integer capacity, Integer sortIndex) {
+        this.name = name;
+        this.capacity = capacity;
+        this.sortIndex = sortIndex;
+    }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+    public Integer getCapacity() { return capacity; }
+    public void setCapacity(Integer capacity) { this.capacity = capacity; }
+    public Integer getSortIndex() { return sortIndex; }
+    public void setSortIndex(Integer sortIndex) { this.sortIndex = sortIndex; }
+}
@@ -4,7 +4,7 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "user_points")
+@Table(name = "user_points", indexes = {@Index(name = "idx_user_points_rank", columnList = "total_points DESC, user_id ASC")})
 public class UserPoints {
     @Id
     private Long userId;
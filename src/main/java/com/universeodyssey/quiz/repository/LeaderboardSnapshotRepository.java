@@ -2,6 +2,7 @@ package com.universeodyssey.quiz.repository;
 
 import com.universeodyssey.quiz.entity.LeaderboardSnapshot;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
@@ -12,4 +13,17 @@ import java.util.List;
 public interface LeaderboardSnapshotRepository extends JpaRepository<LeaderboardSnapshot, Long> {
     @Query("SELECT l FROM LeaderboardSnapshot l WHERE l.snapshotDate = :date ORDER BY l.rank ASC")
     List<LeaderboardSnapshot> findBySnapshotDateOrderByRank(LocalDate date);
+
+    // one page of a historical board, seeked by rank on (snapshot_date, player_rank)
+    @Query("SELECT l FROM LeaderboardSnapshot l WHERE l.snapshotDate = :date AND l.rank BETWEEN :fromRank AND :toRank ORDER BY l.rank ASC")
+    List<LeaderboardSnapshot> findRankRange(LocalDate date, int fromRank, int toRank);
+
+    long countBySnapshotDate(LocalDate date);
+
+    @Query("SELECT DISTINCT l.snapshotDate FROM LeaderboardSnapshot l ORDER BY l.snapshotDate DESC")
+    List<LocalDate> findSnapshotDates();
+
+    @Modifying
+    @Query("DELETE FROM LeaderboardSnapshot l WHERE l.snapshotDate = :date")
+    int deleteBySnapshotDate(LocalDate date);
 }
@@ -0,0 +1,12 @@
+package com.universeodyssey.quiz.repository;
+
+import com.universeodyssey.quiz.entity.LeaderboardTier;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface LeaderboardTierRepository extends JpaRepository<LeaderboardTier, Long> {
+    List<LeaderboardTier> findAllByOrderBySortIndexAsc();
+}
@@ -12,4 +12,6 @@ public interface QuizQuestionRepository extends JpaRepository<QuizQuestion, Long
     List<QuizQuestion> findByQuiz(Quiz quiz);
 
     void deleteByQuiz(Quiz quiz);
+
+    boolean existsByQuizAndQuestionTextStartingWith(Quiz quiz, String prefix);
 }
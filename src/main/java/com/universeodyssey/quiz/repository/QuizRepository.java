@@ -13,4 +13,6 @@ public interface QuizRepository extends JpaRepository<Quiz, Long> {
     Optional<Quiz> findByDate(LocalDate date);
 
     List<Quiz> findByDateBefore(LocalDate date);
+
+    List<Quiz> findByDateBetween(LocalDate from, LocalDate to);
 }
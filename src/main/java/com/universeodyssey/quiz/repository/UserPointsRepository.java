@@ -2,10 +2,15 @@ package com.universeodyssey.quiz.repository;
 
 import com.universeodyssey.quiz.entity.UserPoints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 import java.util.List;
 
 @Repository
 public interface UserPointsRepository extends JpaRepository<UserPoints, Long> {
 	List<UserPoints> findTop100ByOrderByTotalPointsDesc();
+
+	// userId, username, totalPoints for every row - used to rebuild the in-memory leaderboard
+	@Query("SELECT p.userId, u.username, p.totalPoints FROM UserPoints p LEFT JOIN User u ON u.id = p.userId")
+	List<Object[]> findAllWithUsernames();
 }
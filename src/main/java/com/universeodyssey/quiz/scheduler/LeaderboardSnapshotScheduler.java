@@ -0,0 +1,36 @@
+package com.universeodyssey.quiz.scheduler;
+
+import com.universeodyssey.quiz.service.LeaderboardSnapshotService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+@Component
+public class LeaderboardSnapshotScheduler {
+    private final Logger log = LoggerFactory.getLogger(LeaderboardSnapshotScheduler.class);
+    private final LeaderboardSnapshotService snapshotService;
+
+    public LeaderboardSnapshotScheduler(LeaderboardSnapshotService snapshotService) {
+        this.snapshotService = snapshotService;
+    }
+
+    /**
+     * Runs daily at 23:55 to record the day's final standings and tiers
+     */
+    @Scheduled(cron = "0 55 23 * * *")
+    public void snapshotDailyLeaderboard() {
+        LocalDate today = LocalDate.now();
+        log.info("Writing leaderboard snapshot for {}", today);
+        try {
+            long start = System.currentTimeMillis();
+            int rows = snapshotService.writeSnapshot(today);
+            log.info("Leaderboard snapshot for {} completed: {} rows in {} ms", today, rows,
+                    System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            log.error("Leaderboard snapshot for {} failed: {}", today, e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.universeodyssey.quiz.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.BitSet;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-quiz bitmap of user ids that already have a quiz_attempt row.
+ *
+ * User ids are dense auto-increment values, so a plain bitmap costs about one
+ * bit per registered user per quiz (125 KB per million users) and answers in
+ * O(1). Until the startup load finishes, and for ids that do not fit the bitmap,
+ * every question is answered "maybe" so callers fall back to the database. The
+ * unique key on (quiz_id, user_id) remains the source of truth.
+ */
+@Service
+public class AttemptedUserIndex {
+    private final Logger log = LoggerFactory.getLogger(AttemptedUserIndex.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Map<Long, BitSet> attemptedByQuiz = new ConcurrentHashMap<>();
+    private volatile boolean loaded;
+
+    public AttemptedUserIndex(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Load every (quiz_id, user_id) pair. Marks recorded while this runs land in
+     * the same bitmaps, so nothing written concurrently is lost.
+     */
+    public void load() {
+        long[] rows = new long[1];
+        jdbcTemplate.query("SELECT quiz_id, user_id FROM quiz_attempt", rs -> {
+            markAttempted(rs.getLong(1), rs.getLong(2));
+            rows[0]++;
+        });
+        loaded = true;
+        log.info("Attempted-user index loaded with {} attempts across {} quizzes", rows[0], attemptedByQuiz.size());
+    }
+
+    public void markAttempted(long quizId, long userId) {
+        if (userId < 0 || userId > Integer.MAX_VALUE)
+            return;
+        BitSet bits = attemptedByQuiz.computeIfAbsent(quizId, k -> new BitSet());
+        synchronized (bits) {
+            bits.set((int) userId);
+        }
+    }
+
+    /**
+     * True when the index can answer for this user authoritatively.
+     */
+    public boolean isTracked(long userId) {
+        return loaded && userId >= 0 && userId <= Integer.MAX_VALUE;
+    }
+
+    /**
+     * False means the user definitely has not attempted the quiz; true means
+     * they have, or the index cannot tell.
+     */
+    public boolean mayHaveAttempted(long quizId, long userId) {
+        return !isTracked(userId) || contains(quizId, userId);
+    }
+
+    /**
+     * True only when the index knows the user has attempted the quiz.
+     */
+    public boolean hasAttempted(long quizId, long userId) {
+        return isTracked(userId) && contains(quizId, userId);
+    }
+
+    /**
+     * Forget a quiz whose attempts were deleted (regenerated or expired).
+     */
+    public void forgetQuiz(long quizId) {
+        attemptedByQuiz.remove(quizId);
+    }
+
+    private boolean contains(long quizId, long userId) {
+        BitSet bits = attemptedByQuiz.get(quizId);
+        if (bits == null)
+            return false;
+        synchronized (bits) {
+            return bits.get((int) userId);
+        }
+    }
+}
@@ -4,13 +4,10 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import com.universeodyssey.universe_odyssey.service.http.Integration;
+import com.universeodyssey.universe_odyssey.service.http.OutboundHttpClient;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.MediaType;
-import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 
 import java.time.LocalDate;
 import java.util.Optional;
@@ -18,13 +15,14 @@ import java.util.Optional;
 @Service
 public class GeminiClientService {
     private static final Logger log = LoggerFactory.getLogger(GeminiClientService.class);
-    private final RestTemplate restTemplate = new RestTemplate();
+    private final OutboundHttpClient http;
     private final ObjectMapper mapper = new ObjectMapper();
     private final String apiKey;
     private final String apiUrl;
 
-    public GeminiClientService(@Value("${GEMINI_API_KEY:}") String apiKey,
+    public GeminiClientService(OutboundHttpClient http, @Value("${GEMINI_API_KEY:}") String apiKey,
             @Value("${GEMINI_API_URL:https://api.gemini-placeholder.example/v1}") String apiUrl) {
+        this.http = http;
         this.apiKey = apiKey;
         this.apiUrl = apiUrl;
     }
@@ -50,38 +48,29 @@ public class GeminiClientService {
                                             .add(mapper.createObjectNode()
                                                     .put("text", prompt)))));
 
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
-
             // Gemini API uses API key as query parameter, not Bearer token
             String urlWithKey = apiUrl + "?key=" + (apiKey != null ? apiKey : "");
 
-            HttpEntity<String> request = new HttpEntity<>(mapper.writeValueAsString(requestBody), headers);
-            ResponseEntity<String> response = restTemplate.postForEntity(urlWithKey, request, String.class);
-
-            if (response.getStatusCode().is2xxSuccessful()) {
-                String responseBody = response.getBody();
+            // non-2xx responses throw with the status and body
+            String responseBody = http.postJson(Integration.GEMINI, urlWithKey, mapper.writeValueAsString(requestBody));
 
-                if (responseBody != null) {
-                    // Parse Gemini API response format
-                    JsonNode root = mapper.readTree(responseBody);
-                    JsonNode candidates = root.path("candidates");
-                    if (candidates.isArray() && candidates.size() > 0) {
-                        JsonNode content = candidates.get(0).path("content");
-                        JsonNode parts = content.path("parts");
-                        if (parts.isArray() && parts.size() > 0) {
-                            String text = parts.get(0).path("text").asText();
-                            // Clean markdown code blocks if present
-                            text = text.replaceAll("```json\\s*", "").replaceAll("```\\s*", "").trim();
-                            log.info("Successfully generated quiz from Gemini API");
-                            return Optional.of(text);
-                        }
+            if (responseBody != null) {
+                // Parse Gemini API response format
+                JsonNode root = mapper.readTree(responseBody);
+                JsonNode candidates = root.path("candidates");
+                if (candidates.isArray() && candidates.size() > 0) {
+                    JsonNode content = candidates.get(0).path("content");
+                    JsonNode parts = content.path("parts");
+                    if (parts.isArray() && parts.size() > 0) {
+                        String text = parts.get(0).path("text").asText();
+                        // Clean markdown code blocks if present
+                        text = text.replaceAll("```json\\s*", "").replaceAll("```\\s*", "").trim();
+                        log.info("Successfully generated quiz from Gemini API");
+                        return Optional.of(text);
                     }
                 }
-                throw new RuntimeException("Gemini response parsing failed. Body: " + responseBody);
             }
-            throw new RuntimeException(
-                    "Gemini returned non-2xx: " + response.getStatusCodeValue() + " Body: " + response.getBody());
+            throw new RuntimeException("Gemini response parsing failed. Body: " + responseBody);
         } catch (Exception ex) {
             log.error("Gemini call failed: {}", ex.getMessage(), ex);
             // We rethrow runtime exceptions to be caught by caller if they want detailed
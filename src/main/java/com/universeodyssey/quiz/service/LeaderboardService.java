@@ -0,0 +1,69 @@
+package com.universeodyssey.quiz.service;
+
+import com.universeodyssey.quiz.repository.UserPointsRepository;
+import com.universeodyssey.universe_odyssey.util.Transactions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Serves leaderboard reads from a {@link RankedLeaderboard} kept in step with
+ * user_points, so ranking requests never touch the database.
+ */
+@Service
+public class LeaderboardService {
+    private final Logger log = LoggerFactory.getLogger(LeaderboardService.class);
+    private final UserPointsRepository userPointsRepository;
+    private final RankedLeaderboard board = new RankedLeaderboard();
+
+    public LeaderboardService(UserPointsRepository userPointsRepository) {
+        this.userPointsRepository = userPointsRepository;
+    }
+
+    /**
+     * Reload the board from user_points (one query, usernames joined in).
+     */
+    public void rebuild() {
+        List<Object[]> rows = userPointsRepository.findAllWithUsernames();
+        List<RankedLeaderboard.Entry> entries = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            Long userId = (Long) row[0];
+            String username = (String) row[1];
+            Long points = (Long) row[2];
+            entries.add(new RankedLeaderboard.Entry(userId, username, points == null ? 0L : points));
+        }
+        board.rebuild(entries);
+        log.info("Leaderboard rebuilt with {} users", entries.size());
+    }
+
+    /**
+     * Record a user's new total. Inside a transaction the board is only touched
+     * after commit, so a rolled-back submission never shows up in rankings.
+     */
+    public void recordPoints(Long userId, String username, long totalPoints) {
+        Transactions.runAfterCommit(() -> board.update(userId, username, totalPoints));
+    }
+
+    public List<RankedLeaderboard.Entry> top(int k) {
+        return board.top(k);
+    }
+
+    public int rankOf(Long userId) {
+        return userId == null ? 0 : board.rankOf(userId);
+    }
+
+    public RankedLeaderboard.Entry get(Long userId) {
+        return userId == null ? null : board.get(userId);
+    }
+
+    public RankedLeaderboard.Neighborhood around(Long userId, int radius) {
+        return userId == null ? null : board.around(userId, Math.max(0, radius));
+    }
+
+    public int size() {
+        return board.size();
+    }
+}
@@ -0,0 +1,153 @@
+package com.universeodyssey.quiz.service;
+
+import com.universeodyssey.quiz.entity.LeaderboardSnapshot;
+import com.universeodyssey.quiz.entity.LeaderboardTier;
+import com.universeodyssey.quiz.repository.LeaderboardSnapshotRepository;
+import com.universeodyssey.quiz.repository.LeaderboardTierRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Materializes the daily leaderboard into leaderboard_snapshot and serves
+ * historical pages from it.
+ */
+@Service
+public class LeaderboardSnapshotService {
+    private final Logger log = LoggerFactory.getLogger(LeaderboardSnapshotService.class);
+
+    // rows read per cursor step and written per JDBC batch
+    static final int CHUNK_SIZE = 1000;
+
+    private static final String NEXT_CHUNK_SQL =
+            "SELECT p.user_id, u.username, p.total_points FROM user_points p "
+                    + "LEFT JOIN users u ON u.id = p.user_id "
+                    + "WHERE p.total_points < ? OR (p.total_points = ? AND p.user_id > ?) "
+                    + "ORDER BY p.total_points DESC, p.user_id ASC LIMIT ?";
+
+    private static final String INSERT_SQL =
+            "INSERT INTO leaderboard_snapshot (snapshot_date, user_id, player_rank, tier, total_points, username) "
+                    + "VALUES (?, ?, ?, ?, ?, ?)";
+
+    private final LeaderboardSnapshotRepository snapshotRepository;
+    private final LeaderboardTierRepository tierRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private volatile List<LeaderboardTier> tiers = List.of();
+
+    public LeaderboardSnapshotService(LeaderboardSnapshotRepository snapshotRepository,
+            LeaderboardTierRepository tierRepository, JdbcTemplate jdbcTemplate) {
+        this.snapshotRepository = snapshotRepository;
+        this.tierRepository = tierRepository;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Seed the default tiers on first run and cache the configured ones.
+     */
+    @Transactional
+    public void loadTiers() {
+        if (tierRepository.count() == 0) {
+            tierRepository.saveAll(List.of(
+                    new LeaderboardTier("Radiant", 10, 1),
+                    new LeaderboardTier("Immortal", 25, 2),
+                    new LeaderboardTier("Guardian", 50, 3),
+                    new LeaderboardTier("Participant", 999999, 99)));
+        }
+        tiers = List.copyOf(tierRepository.findAllByOrderBySortIndexAsc());
+        log.info("Loaded {} leaderboard tiers", tiers.size());
+    }
+
+    public List<LeaderboardTier> getTiers() {
+        return tiers;
+    }
+
+    /**
+     * Replace the snapshot for {@code date} with the current standings.
+     *
+     * user_points is read in rank order with a keyset cursor on
+     * (total_points, user_id), so memory stays bounded by one chunk, and each
+     * chunk is written as a single JDBC batch.
+     *
+     * @return number of rows written
+     */
+    @Transactional
+    public int writeSnapshot(LocalDate date) {
+        List<LeaderboardTier> tierList = tiers.isEmpty() ? tierRepository.findAllByOrderBySortIndexAsc() : tiers;
+        snapshotRepository.deleteBySnapshotDate(date);
+
+        Date sqlDate = Date.valueOf(date);
+        TierCursor tierCursor = new TierCursor(tierList);
+        long lastPoints = Long.MAX_VALUE;
+        long lastUserId = Long.MIN_VALUE;
+        int rank = 0;
+
+        while (true) {
+            List<Object[]> chunk = jdbcTemplate.query(NEXT_CHUNK_SQL,
+                    (rs, i) -> new Object[] { rs.getLong(1), rs.getString(2), rs.getLong(3) },
+                    lastPoints, lastPoints, lastUserId, CHUNK_SIZE);
+            if (chunk.isEmpty())
+                break;
+
+            List<Object[]> batch = new ArrayList<>(chunk.size());
+            for (Object[] row : chunk) {
+                rank++;
+                batch.add(new Object[] { sqlDate, row[0], rank, tierCursor.tierFor(rank), row[2], row[1] });
+            }
+            jdbcTemplate.batchUpdate(INSERT_SQL, batch);
+
+            Object[] last = chunk.get(chunk.size() - 1);
+            lastUserId = (Long) last[0];
+            lastPoints = (Long) last[2];
+            if (chunk.size() < CHUNK_SIZE)
+                break;
+        }
+
+        log.info("Wrote leaderboard snapshot for {} with {} rows", date, rank);
+        return rank;
+    }
+
+    public List<LeaderboardSnapshot> getSnapshotPage(LocalDate date, int page, int size) {
+        int fromRank = page * size + 1;
+        return snapshotRepository.findRankRange(date, fromRank, fromRank + size - 1);
+    }
+
+    public long countSnapshot(LocalDate date) {
+        return snapshotRepository.countBySnapshotDate(date);
+    }
+
+    public List<LocalDate> getSnapshotDates() {
+        return snapshotRepository.findSnapshotDates();
+    }
+
+    /**
+     * Walks the tier list as ranks increase; capacities are consecutive slices of
+     * the board and the last tier takes everyone left over.
+     */
+    static final class TierCursor {
+        private final List<LeaderboardTier> tiers;
+        private int index;
+        private long upperRank;
+
+        TierCursor(List<LeaderboardTier> tiers) {
+            this.tiers = tiers;
+            this.upperRank = tiers.isEmpty() ? Long.MAX_VALUE : tiers.get(0).getCapacity();
+        }
+
+        String tierFor(int rank) {
+            if (tiers.isEmpty())
+                return "Participant";
+            while (rank > upperRank && index < tiers.size() - 1) {
+                index++;
+                upperRank += tiers.get(index).getCapacity();
+            }
+            return tiers.get(index).getName();
+        }
+    }
+}
@@ -0,0 +1,252 @@
+package com.universeodyssey.quiz.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.universeodyssey.quiz.entity.Quiz;
+import com.universeodyssey.quiz.entity.QuizQuestion;
+import com.universeodyssey.quiz.repository.QuizQuestionRepository;
+import com.universeodyssey.quiz.repository.QuizRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps quizzes generated for today and the next few days.
+ *
+ * Gemini is called on virtual threads, outside any transaction, and retried
+ * with exponential backoff. Only a validated question set reaches
+ * {@link QuizService#saveGeneratedQuiz}, which stores it in one short
+ * transaction. Fallback questions are written only when today would otherwise
+ * have no quiz, and are swapped for a generated set on a later run as long as
+ * nobody has taken the quiz yet.
+ */
+@Service
+public class QuizGenerationService {
+    private final Logger log = LoggerFactory.getLogger(QuizGenerationService.class);
+
+    private static final String FALLBACK_OPTIONS = "[\"Option A\",\"Option B\",\"Option C\",\"Option D\"]";
+    private static final String FALLBACK_PREFIX = "Fallback Question ";
+
+    private final GeminiClientService geminiClient;
+    private final QuizService quizService;
+    private final QuizRepository quizRepository;
+    private final QuizQuestionRepository questionRepository;
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    // one generation per date at a time
+    private final Map<LocalDate, CompletableFuture<Boolean>> inProgress = new ConcurrentHashMap<>();
+    private final int daysAhead;
+    private final int maxAttempts;
+    private final long initialBackoffMs;
+    private final long maxBackoffMs;
+
+    public QuizGenerationService(GeminiClientService geminiClient, QuizService quizService,
+            QuizRepository quizRepository, QuizQuestionRepository questionRepository,
+            @Value("${quiz.generation.days-ahead:3}") int daysAhead,
+            @Value("${quiz.generation.max-attempts:5}") int maxAttempts,
+            @Value("${quiz.generation.initial-backoff-ms:2000}") long initialBackoffMs,
+            @Value("${quiz.generation.max-backoff-ms:60000}") long maxBackoffMs) {
+        this.geminiClient = geminiClient;
+        this.quizService = quizService;
+        this.quizRepository = quizRepository;
+        this.questionRepository = questionRepository;
+        this.daysAhead = Math.max(0, daysAhead);
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.initialBackoffMs = initialBackoffMs;
+        this.maxBackoffMs = maxBackoffMs;
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Start generation for every day from today to today + days-ahead that has
+     * no quiz yet, and retry Gemini for today's quiz if it is the fallback.
+     * Returns immediately.
+     */
+    public void fillBuffer() {
+        LocalDate today = LocalDate.now();
+        LocalDate last = today.plusDays(daysAhead);
+        Map<LocalDate, Quiz> existing = quizRepository.findByDateBetween(today, last).stream()
+                .collect(Collectors.toMap(Quiz::getDate, Function.identity()));
+        for (LocalDate date = today; !date.isAfter(last); date = date.plusDays(1)) {
+            Quiz quiz = existing.get(date);
+            if (quiz == null)
+                generateAsync(date, date.equals(today));
+            else if (date.equals(today) && questionRepository.existsByQuizAndQuestionTextStartingWith(quiz, FALLBACK_PREFIX))
+                replaceFallbackAsync(quiz);
+        }
+    }
+
+    /**
+     * Generate and store a quiz for {@code date} on a virtual thread. Completes
+     * with true when Gemini produced a valid quiz.
+     */
+    public CompletableFuture<Boolean> generateAsync(LocalDate date, boolean fallbackOnFailure) {
+        return runOnce(date, () -> generate(date, fallbackOnFailure));
+    }
+
+    /**
+     * Ask Gemini again for a date that got the fallback quiz and swap the new
+     * set in, unless the fallback has been taken meanwhile.
+     */
+    CompletableFuture<Boolean> replaceFallbackAsync(Quiz fallback) {
+        return runOnce(fallback.getDate(), () -> replaceFallback(fallback));
+    }
+
+    private CompletableFuture<Boolean> runOnce(LocalDate date, Supplier<Boolean> task) {
+        CompletableFuture<Boolean> future = new CompletableFuture<>();
+        CompletableFuture<Boolean> running = inProgress.putIfAbsent(date, future);
+        if (running != null)
+            return running;
+        executor.execute(() -> {
+            try {
+                future.complete(task.get());
+            } catch (Throwable t) {
+                log.error("Quiz generation for {} failed: {}", date, t.getMessage(), t);
+                future.completeExceptionally(t);
+            } finally {
+                inProgress.remove(date, future);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Replace today's quiz with a freshly generated one. Blocks the caller and
+     * throws if Gemini never returns a valid quiz; the existing quiz is kept.
+     */
+    public void regenerateToday() {
+        LocalDate today = LocalDate.now();
+        List<QuizQuestion> questions = fetchWithRetry(today)
+                .orElseThrow(() -> new RuntimeException("Gemini did not return a valid quiz (check logs for details)"));
+        quizService.replaceQuiz(today, questions);
+    }
+
+    private boolean generate(LocalDate date, boolean fallbackOnFailure) {
+        Optional<List<QuizQuestion>> questions = fetchWithRetry(date);
+        if (questions.isPresent()) {
+            quizService.saveGeneratedQuiz(date, questions.get());
+            return true;
+        }
+        if (fallbackOnFailure) {
+            log.warn("Gemini failed to generate quiz for {}, using fallback", date);
+            quizService.saveGeneratedQuiz(date, fallbackQuestions());
+        } else {
+            log.warn("Gemini failed to generate quiz for {}; will retry on the next run", date);
+        }
+        return false;
+    }
+
+    private boolean replaceFallback(Quiz fallback) {
+        LocalDate date = fallback.getDate();
+        Optional<List<QuizQuestion>> questions = fetchWithRetry(date);
+        if (questions.isEmpty()) {
+            log.warn("Gemini still failing for {}; keeping the fallback quiz until the next run", date);
+            return false;
+        }
+        if (!quizService.replaceUnattemptedQuiz(fallback.getId(), date, questions.get())) {
+            log.info("Fallback quiz for {} already has attempts; keeping it", date);
+            return false;
+        }
+        log.info("Replaced fallback quiz for {} with a generated one", date);
+        return true;
+    }
+
+    private Optional<List<QuizQuestion>> fetchWithRetry(LocalDate date) {
+        long backoff = initialBackoffMs;
+        for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+            try {
+                Optional<String> json = geminiClient.generateQuiz(date);
+                if (json.isPresent()) {
+                    List<QuizQuestion> questions = parseQuestions(json.get());
+                    if (!questions.isEmpty()) {
+                        log.info("Generated quiz for {} on attempt {}", date, attempt);
+                        return Optional.of(questions);
+                    }
+                }
+                log.warn("Gemini returned no valid quiz for {} (attempt {}/{})", date, attempt, maxAttempts);
+            } catch (RuntimeException ex) {
+                log.warn("Gemini quiz call for {} failed (attempt {}/{}): {}", date, attempt, maxAttempts,
+                        ex.getMessage());
+            }
+            if (attempt == maxAttempts)
+                break;
+            try {
+                // jitter keeps concurrent dates from retrying in lockstep
+                Thread.sleep(backoff / 2 + ThreadLocalRandom.current().nextLong(backoff / 2 + 1));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            backoff = Math.min(backoff * 2, maxBackoffMs);
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Parse Gemini's quiz JSON into unsaved questions. Returns an empty list if
+     * any question is malformed, so a partial quiz is never stored.
+     */
+    List<QuizQuestion> parseQuestions(String json) {
+        JsonNode questionsNode;
+        try {
+            questionsNode = mapper.readTree(json).path("quiz").path("questions");
+        } catch (Exception e) {
+            log.warn("Failed to parse Gemini quiz: {}", e.getMessage());
+            return List.of();
+        }
+        if (!questionsNode.isArray() || questionsNode.isEmpty())
+            return List.of();
+
+        List<QuizQuestion> questions = new ArrayList<>(questionsNode.size());
+        for (JsonNode qNode : questionsNode) {
+            String text = qNode.path("question").asText("").trim();
+            JsonNode options = qNode.path("options");
+            int correctIndex = qNode.path("correct_index").asInt(-1);
+            int points = qNode.path("points").asInt(10);
+            if (text.isEmpty() || !options.isArray() || options.size() < 2
+                    || correctIndex < 0 || correctIndex >= options.size() || points <= 0)
+                return List.of();
+
+            QuizQuestion q = new QuizQuestion();
+            q.setQuestionText(text);
+            q.setOptions(options.toString());
+            q.setCorrectIndex(correctIndex);
+            q.setPoints(points);
+            questions.add(q);
+        }
+        return questions;
+    }
+
+    private List<QuizQuestion> fallbackQuestions() {
+        List<QuizQuestion> questions = new ArrayList<>();
+        for (int i = 1; i <= 5; i++) {
+            QuizQuestion qq = new QuizQuestion();
+            qq.setQuestionText(FALLBACK_PREFIX + i);
+            qq.setOptions(FALLBACK_OPTIONS);
+            qq.setCorrectIndex(0);
+            qq.setPoints(10);
+            questions.add(qq);
+        }
+        return questions;
+    }
+}
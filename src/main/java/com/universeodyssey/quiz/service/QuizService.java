@@ -1,225 +1,255 @@
 package com.universeodyssey.quiz.service;
 
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.universeodyssey.quiz.dto.QuizDto;
-import com.universeodyssey.quiz.dto.QuizQuestionDto;
 import com.universeodyssey.quiz.dto.SubmitQuizRequest;
 import com.universeodyssey.quiz.dto.SubmitQuizResponse;
 import com.universeodyssey.quiz.entity.*;
 import com.universeodyssey.quiz.repository.*;
 import com.universeodyssey.universe_odyssey.model.User;
 import com.universeodyssey.universe_odyssey.repository.UserRepository;
+import com.universeodyssey.universe_odyssey.util.Transactions;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
 
 @Service
 public class QuizService {
     private final Logger log = LoggerFactory.getLogger(QuizService.class);
+    private static final String INSERT_QUESTION_SQL =
+            "INSERT INTO quiz_question (quiz_id, question_text, options, correct_index, points) VALUES (?, ?, ?, ?, ?)";
     private final QuizRepository quizRepository;
     private final QuizQuestionRepository questionRepository;
     private final QuizAttemptRepository attemptRepository;
-    private final UserPointsRepository userPointsRepository;
-    private final LeaderboardSnapshotRepository leaderboardRepository;
-    private final GeminiClientService geminiClient;
+    private final JdbcTemplate jdbcTemplate;
     private final UserRepository userRepository;
+    private final QuizSubmissionPipeline submissionPipeline;
+    private final AttemptedUserIndex attemptIndex;
     private final ObjectMapper mapper = new ObjectMapper();
+    // immutable quiz views: today's for reads, any recent one by id for scoring submissions
+    private final AtomicReference<QuizTemplate> todayTemplate = new AtomicReference<>();
+    private final Map<Long, QuizTemplate> templatesById = new ConcurrentHashMap<>();
+    // generated quizzes for today and the days ahead, keyed by quiz date
+    private final Map<LocalDate, QuizTemplate> templatesByDate = new ConcurrentHashMap<>();
 
     public QuizService(QuizRepository quizRepository, QuizQuestionRepository questionRepository,
-            QuizAttemptRepository attemptRepository, UserPointsRepository userPointsRepository,
-            LeaderboardSnapshotRepository leaderboardRepository, GeminiClientService geminiClient,
-            UserRepository userRepository) {
+            QuizAttemptRepository attemptRepository, JdbcTemplate jdbcTemplate, UserRepository userRepository,
+            QuizSubmissionPipeline submissionPipeline, AttemptedUserIndex attemptIndex) {
         this.quizRepository = quizRepository;
         this.questionRepository = questionRepository;
         this.attemptRepository = attemptRepository;
-        this.userPointsRepository = userPointsRepository;
-        this.leaderboardRepository = leaderboardRepository;
-        this.geminiClient = geminiClient;
+        this.jdbcTemplate = jdbcTemplate;
         this.userRepository = userRepository;
+        this.submissionPipeline = submissionPipeline;
+        this.attemptIndex = attemptIndex;
     }
 
-    @Transactional
-    public void regenerateTodayQuiz() {
-        LocalDate today = LocalDate.now();
-        Optional<Quiz> existingQuiz = quizRepository.findByDate(today);
+    /**
+     * Cached template for a quiz id, loading it on first use.
+     */
+    private Optional<QuizTemplate> template(Long quizId) {
+        QuizTemplate cached = templatesById.get(quizId);
+        if (cached != null)
+            return Optional.of(cached);
+        Optional<Quiz> maybeQuiz = quizRepository.findById(quizId);
+        if (maybeQuiz.isEmpty())
+            return Optional.empty();
+        QuizTemplate loaded = new QuizTemplate(maybeQuiz.get(), questionRepository.findByQuiz(maybeQuiz.get()),
+                mapper);
+        templatesById.putIfAbsent(quizId, loaded);
+        return Optional.of(templatesById.get(quizId));
+    }
 
-        // Delete existing quiz and its questions
-        if (existingQuiz.isPresent()) {
-            Quiz quiz = existingQuiz.get();
-            log.info("Deleting existing quiz for {} to regenerate", today);
-            questionRepository.deleteByQuiz(quiz);
-            attemptRepository.deleteByQuizId(quiz.getId());
-            quizRepository.delete(quiz);
+    /**
+     * Today's template. Normally published ahead of time by the generator, so
+     * the date rollover is a pointer swap; loaded from the database only after
+     * a restart.
+     */
+    private Optional<QuizTemplate> todayTemplate() {
+        LocalDate today = LocalDate.now();
+        QuizTemplate current = todayTemplate.get();
+        if (current != null && current.date.equals(today))
+            return Optional.of(current);
+        QuizTemplate buffered = templatesByDate.get(today);
+        if (buffered != null) {
+            todayTemplate.compareAndSet(current, buffered);
+            return Optional.ofNullable(todayTemplate.get());
         }
+        Optional<Quiz> maybeQuiz = quizRepository.findByDate(today);
+        if (maybeQuiz.isEmpty())
+            return Optional.empty();
+        QuizTemplate loaded = new QuizTemplate(maybeQuiz.get(), questionRepository.findByQuiz(maybeQuiz.get()),
+                mapper);
+        // a publish that raced with this load wins
+        if (!todayTemplate.compareAndSet(current, loaded))
+            return Optional.ofNullable(todayTemplate.get());
+        templatesById.put(loaded.quizId, loaded);
+        return Optional.of(loaded);
+    }
+
+    /**
+     * Swap in a freshly generated quiz (today's or a buffered future one) once
+     * its transaction commits.
+     */
+    private void publishTemplate(Quiz quiz, List<QuizQuestion> questions) {
+        QuizTemplate template = new QuizTemplate(quiz, questions, mapper);
+        Runnable swap = () -> {
+            templatesById.put(template.quizId, template);
+            templatesByDate.put(template.date, template);
+            if (template.date.equals(LocalDate.now()))
+                todayTemplate.set(template);
+        };
+        Transactions.runAfterCommit(swap);
+    }
 
-        // Generate new quiz - throw exception if fails so we can see the error
-        generateTodayQuizIfMissing(false);
+    /**
+     * Drop cached data for a quiz that was deleted or regenerated.
+     */
+    public void evictQuiz(Long quizId) {
+        attemptIndex.forgetQuiz(quizId);
+        templatesById.remove(quizId);
+        templatesByDate.values().removeIf(t -> t.quizId == quizId);
+        todayTemplate.updateAndGet(t -> t != null && t.quizId == quizId ? null : t);
     }
 
+    /**
+     * Store a generated question set for {@code date} unless a quiz already
+     * exists. Questions go in as one JDBC batch, so the transaction only lasts
+     * as long as the inserts.
+     *
+     * @return false when the date already had a quiz
+     */
     @Transactional
-    public void generateTodayQuizIfMissing() {
-        generateTodayQuizIfMissing(true);
+    public boolean saveGeneratedQuiz(LocalDate date, List<QuizQuestion> questions) {
+        if (quizRepository.findByDate(date).isPresent())
+            return false;
+        insertQuiz(date, questions);
+        return true;
     }
 
+    /**
+     * Replace whatever quiz exists for {@code date}, including its attempts.
+     */
     @Transactional
-    public void generateTodayQuizIfMissing(boolean useFallback) {
-        LocalDate today = LocalDate.now();
-        if (quizRepository.findByDate(today).isPresent()) {
-            return;
+    public void replaceQuiz(LocalDate date, List<QuizQuestion> questions) {
+        Optional<Quiz> existingQuiz = quizRepository.findByDate(date);
+        if (existingQuiz.isPresent()) {
+            log.info("Deleting existing quiz for {} to regenerate", date);
+            deleteQuizRows(existingQuiz.get());
+            quizRepository.flush();
         }
+        insertQuiz(date, questions);
+    }
+
+    /**
+     * Replace the quiz {@code quizId} for {@code date} only if nobody has taken
+     * it yet. The quiz row is locked first, so an attempt being written either
+     * commits before the count or fails once the quiz is gone.
+     *
+     * @return false when the quiz has attempts or is no longer the quiz for the date
+     */
+    @Transactional
+    public boolean replaceUnattemptedQuiz(Long quizId, LocalDate date, List<QuizQuestion> questions) {
+        List<Long> locked = jdbcTemplate.queryForList("SELECT id FROM quiz WHERE id = ? AND quiz_date = ? FOR UPDATE",
+                Long.class, quizId, date);
+        if (locked.isEmpty() || attemptRepository.countByQuizId(quizId) > 0)
+            return false;
+        deleteQuizRows(quizRepository.getReferenceById(quizId));
+        quizRepository.flush();
+        insertQuiz(date, questions);
+        return true;
+    }
 
+    @Transactional
+    public void deleteQuiz(Quiz quiz) {
+        deleteQuizRows(quiz);
+    }
+
+    /**
+     * Delete a quiz with its questions and attempts; cached data is dropped
+     * once the transaction commits, before any template published after it.
+     */
+    private void deleteQuizRows(Quiz quiz) {
+        Long quizId = quiz.getId();
+        Transactions.runAfterCommit(() -> evictQuiz(quizId));
+        questionRepository.deleteByQuiz(quiz);
+        attemptRepository.deleteByQuizId(quiz.getId());
+        quizRepository.delete(quiz);
+    }
+
+    private void insertQuiz(LocalDate date, List<QuizQuestion> questions) {
         Quiz quiz = new Quiz();
-        quiz.setDate(today);
-        quiz.setTitle("Daily Quiz - " + today.toString());
+        quiz.setDate(date);
+        quiz.setTitle("Daily Quiz - " + date.toString());
         quiz = quizRepository.save(quiz);
 
-        try {
-            Optional<String> geminiQuizJson = geminiClient.generateQuiz(today);
-
-            if (geminiQuizJson.isPresent()) {
-                try {
-                    JsonNode root = mapper.readTree(geminiQuizJson.get());
-                    JsonNode questionsNode = root.path("quiz").path("questions");
-
-                    if (questionsNode.isArray()) {
-                        int index = 0;
-                        for (JsonNode qNode : questionsNode) {
-                            QuizQuestion q = new QuizQuestion();
-                            q.setQuiz(quiz);
-                            q.setQuestionText(qNode.path("question").asText("Question " + (++index)));
-                            JsonNode options = qNode.path("options");
-                            q.setOptions(options.isMissingNode() ? "[]" : options.toString());
-                            q.setCorrectIndex(qNode.path("correct_index").asInt(0));
-                            q.setPoints(qNode.path("points").asInt(10));
-                            questionRepository.save(q);
-                        }
-                        log.info("Successfully generated and saved quiz for {}", today);
-                        return;
-                    }
-                } catch (Exception e) {
-                    log.error("Failed to parse Gemini quiz", e);
-                    if (!useFallback)
-                        throw new RuntimeException("Failed to parse Gemini quiz: " + e.getMessage(), e);
-                }
-            } else {
-                if (!useFallback)
-                    throw new RuntimeException("Gemini returned empty result (check logs for details)");
-            }
-        } catch (Exception e) {
-            log.error("Gemini generation failed", e);
-            if (!useFallback)
-                throw e;
-        }
+        long quizId = quiz.getId();
+        List<Object[]> rows = new ArrayList<>(questions.size());
+        for (QuizQuestion q : questions)
+            rows.add(new Object[] { quizId, q.getQuestionText(), q.getOptions(), q.getCorrectIndex(), q.getPoints() });
+        jdbcTemplate.batchUpdate(INSERT_QUESTION_SQL, rows);
 
-        log.warn("Gemini failed to generate quiz, using fallback");
-        createFallbackQuizQuestions(quiz);
+        publishTemplate(quiz, questionRepository.findByQuiz(quiz));
+        log.info("Saved quiz for {} with {} questions", date, questions.size());
     }
 
-    private void createFallbackQuizQuestions(Quiz quiz) {
-        for (int i = 1; i <= 5; i++) {
-            QuizQuestion qq = new QuizQuestion();
-            qq.setQuiz(quiz);
-            qq.setQuestionText("Fallback Question " + i);
-            qq.setOptions("[\"Option A\",\"Option B\",\"Option C\",\"Option D\"]");
-            qq.setCorrectIndex(0);
-            qq.setPoints(10);
-            questionRepository.save(qq);
-        }
+    /**
+     * Point "today" at the pre-built template for the new date and drop
+     * templates for past dates. Runs at midnight; reads also swap lazily.
+     */
+    public void rolloverToday() {
+        LocalDate today = LocalDate.now();
+        templatesByDate.keySet().removeIf(d -> d.isBefore(today));
+        todayTemplate();
     }
 
     public Optional<QuizDto> getTodayQuizForUser(String email) {
-        Optional<User> maybeUser = userRepository.findByEmail(email);
-        Long userId = maybeUser.map(User::getId).orElse(null);
-        LocalDate today = LocalDate.now();
-        Optional<Quiz> maybeQuiz = quizRepository.findByDate(today);
-        if (maybeQuiz.isEmpty())
+        Optional<QuizTemplate> template = todayTemplate();
+        if (template.isEmpty())
             return Optional.empty();
-        Quiz quiz = maybeQuiz.get();
-        List<QuizQuestion> questions = questionRepository.findByQuiz(quiz);
-        QuizDto dto = new QuizDto();
-        dto.id = quiz.getId();
-        dto.title = quiz.getTitle();
-        dto.date = quiz.getDate();
-        List<QuizQuestionDto> list = new ArrayList<>();
-        for (QuizQuestion q : questions) {
-            QuizQuestionDto qdto = new QuizQuestionDto();
-            qdto.id = q.getId();
-            qdto.questionText = q.getQuestionText();
-            try {
-                qdto.options = mapper.readValue(q.getOptions(), new TypeReference<List<String>>() {
-                });
-            } catch (Exception ex) {
-                qdto.options = Arrays.asList(q.getOptions());
-            }
-            qdto.points = q.getPoints();
-            list.add(qdto);
+        QuizTemplate t = template.get();
+        Long userId = email == null ? null : userRepository.findByEmail(email).map(User::getId).orElse(null);
+        // only a possible hit on the attempted-user index costs a query
+        if (userId != null && attemptIndex.mayHaveAttempted(t.quizId, userId)) {
+            Optional<QuizAttempt> attempt = attemptRepository.findByQuizIdAndUserId(t.quizId, userId);
+            if (attempt.isPresent())
+                return Optional.of(t.toDto(true, attempt.get().getScore()));
         }
-        dto.questions = list;
-        if (userId != null) {
-            attemptRepository.findByQuizIdAndUserId(dto.id, userId).ifPresent(a -> {
-                dto.completed = true;
-                dto.previousScore = a.getScore();
-            });
-        }
-        return Optional.of(dto);
+        return Optional.of(t.toDto(false, null));
     }
 
-    @Transactional
+    /**
+     * Scores in memory and hands the attempt to {@link QuizSubmissionPipeline},
+     * which writes it together with other submissions of the same few milliseconds.
+     */
     public SubmitQuizResponse submitAnswers(String userEmail, SubmitQuizRequest request) {
         Optional<User> maybeUser = userRepository.findByEmail(userEmail);
         if (maybeUser.isEmpty())
             throw new IllegalArgumentException("User must exist");
-        Long userId = maybeUser.get().getId();
-        Optional<Quiz> maybeQuiz = quizRepository.findById(request.quizId);
-        if (maybeQuiz.isEmpty())
+        User user = maybeUser.get();
+        if (request.quizId == null)
             throw new IllegalArgumentException("Quiz not found");
-        Quiz quiz = maybeQuiz.get();
-        // duplicate check
-        if (attemptRepository.findByQuizIdAndUserId(quiz.getId(), userId).isPresent()) {
+        // quizzes generated for the days ahead are not open yet
+        QuizTemplate template = template(request.quizId)
+                .filter(t -> !t.date.isAfter(LocalDate.now()))
+                .orElseThrow(() -> new IllegalArgumentException("Quiz not found"));
+        Map<Long, Integer> answers = request.answers == null ? new HashMap<>() : request.answers;
+        if (attemptIndex.hasAttempted(template.quizId, user.getId())) {
             SubmitQuizResponse resp = new SubmitQuizResponse();
             resp.score = null;
             resp.totalPoints = null;
             resp.message = "Already submitted";
             return resp;
         }
-        List<QuizQuestion> questions = questionRepository.findByQuiz(quiz);
-        Map<Long, Integer> answers = request.answers == null ? new HashMap<>() : request.answers;
-        int totalScore = 0;
-        for (QuizQuestion q : questions) {
-            Integer selected = answers.get(q.getId());
-            if (selected != null && q.getCorrectIndex() != null && selected.equals(q.getCorrectIndex())) {
-                totalScore += q.getPoints();
-            }
-        }
-        // save attempt
-        QuizAttempt attempt = new QuizAttempt();
-        attempt.setQuiz(quiz);
-        attempt.setUserId(userId);
-        attempt.setAnswers(serialize(answers));
-        attempt.setScore(totalScore);
-        attemptRepository.save(attempt);
-
-        // update user points
-        UserPoints up = userPointsRepository.findById(userId).orElseGet(() -> {
-            UserPoints p = new UserPoints();
-            p.setUserId(userId);
-            p.setTotalPoints(0L);
-            return p;
-        });
-        up.setTotalPoints(up.getTotalPoints() + totalScore);
-        userPointsRepository.save(up);
-
-        SubmitQuizResponse response = new SubmitQuizResponse();
-        response.score = totalScore;
-        response.totalPoints = up.getTotalPoints();
-        response.message = "Submitted";
-        return response;
+        int totalScore = template.score(answers);
+        return submissionPipeline.submit(template.quizId, user.getId(), user.getUsername(), serialize(answers), totalScore);
     }
 
     private String serialize(Object obj) {
@@ -0,0 +1,327 @@
+package com.universeodyssey.quiz.service;
+
+import com.universeodyssey.quiz.dto.SubmitQuizResponse;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Write-behind path for scored quiz submissions.
+ *
+ * Request threads hand over an already scored attempt and wait on a future. A
+ * single flusher thread groups whatever arrived within the flush interval (or
+ * up to the batch size) and writes it in one transaction: a duplicate check
+ * (in memory via {@link AttemptedUserIndex}, or one probe per quiz), one
+ * batched attempt insert, one batched atomic points upsert and one
+ * read-back of the new totals. Database work per submission therefore shrinks
+ * as load grows, and points are never read-modified-written in Java.
+ */
+@Service
+public class QuizSubmissionPipeline {
+    private final Logger log = LoggerFactory.getLogger(QuizSubmissionPipeline.class);
+
+    private static final String INSERT_ATTEMPT_SQL =
+            "INSERT INTO quiz_attempt (quiz_id, user_id, answers, score, attempted_at) VALUES (?, ?, ?, ?, ?)";
+
+    private static final String ADD_POINTS_SQL =
+            "INSERT INTO user_points (user_id, total_points, updated_at) VALUES (?, ?, ?) AS new "
+                    + "ON DUPLICATE KEY UPDATE total_points = total_points + new.total_points, updated_at = new.updated_at";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final LeaderboardService leaderboardService;
+    private final AttemptedUserIndex attemptIndex;
+    private final int batchSize;
+    private final long flushIntervalMillis;
+    private final long submitTimeoutMillis;
+
+    private final BlockingQueue<Pending> queue;
+    // (quizId, userId) pairs queued but not yet written, so a double click inside one window is caught
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+    private volatile boolean running;
+    private Thread flusher;
+
+    public QuizSubmissionPipeline(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+            LeaderboardService leaderboardService, AttemptedUserIndex attemptIndex,
+            @Value("${quiz.submit.batch-size:200}") int batchSize,
+            @Value("${quiz.submit.flush-interval-ms:5}") long flushIntervalMillis,
+            @Value("${quiz.submit.timeout-ms:10000}") long submitTimeoutMillis,
+            @Value("${quiz.submit.queue-capacity:10000}") int queueCapacity) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.leaderboardService = leaderboardService;
+        this.attemptIndex = attemptIndex;
+        this.batchSize = batchSize;
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.submitTimeoutMillis = submitTimeoutMillis;
+        this.queue = new LinkedBlockingQueue<>(queueCapacity);
+    }
+
+    /**
+     * Outcome of one queued submission once its batch is written.
+     */
+    public static final class Result {
+        private final boolean duplicate;
+        private final long totalPoints;
+
+        Result(boolean duplicate, long totalPoints) {
+            this.duplicate = duplicate;
+            this.totalPoints = totalPoints;
+        }
+
+        public boolean isDuplicate() { return duplicate; }
+        public long getTotalPoints() { return totalPoints; }
+    }
+
+    private static final class Pending {
+        final long quizId;
+        final long userId;
+        final String username;
+        final String answersJson;
+        final int score;
+        final String key;
+        final CompletableFuture<Result> future = new CompletableFuture<>();
+
+        Pending(long quizId, long userId, String username, String answersJson, int score) {
+            this.quizId = quizId;
+            this.userId = userId;
+            this.username = username;
+            this.answersJson = answersJson;
+            this.score = score;
+            this.key = quizId + ":" + userId;
+        }
+    }
+
+    @PostConstruct
+    void start() {
+        running = true;
+        flusher = Thread.ofPlatform().daemon().name("quiz-submit-flusher").start(this::runFlushLoop);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        flusher.interrupt();
+        flusher.join(TimeUnit.SECONDS.toMillis(5));
+    }
+
+    /**
+     * Queue a scored attempt and wait for the batch containing it to commit.
+     * If that takes longer than the submit timeout the attempt stays queued
+     * and a "Pending" response without the new total is returned.
+     */
+    public SubmitQuizResponse submit(long quizId, long userId, String username, String answersJson, int score) {
+        Pending pending = new Pending(quizId, userId, username, answersJson, score);
+        if (!inFlight.add(pending.key))
+            return alreadySubmitted();
+        try {
+            if (!queue.offer(pending, submitTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                inFlight.remove(pending.key);
+                throw new IllegalStateException("Quiz submission queue is full, please retry");
+            }
+            Result result = pending.future.get(submitTimeoutMillis, TimeUnit.MILLISECONDS);
+            if (result.isDuplicate())
+                return alreadySubmitted();
+            SubmitQuizResponse response = new SubmitQuizResponse();
+            response.score = score;
+            response.totalPoints = result.getTotalPoints();
+            response.message = "Submitted";
+            return response;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while saving quiz submission", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Failed to save quiz submission: " + e.getCause().getMessage(), e.getCause());
+        } catch (TimeoutException e) {
+            // still queued or being written; a resubmit is caught by inFlight until then
+            log.warn("Quiz submission for quiz {} by user {} not written within {} ms, answering pending",
+                    quizId, userId, submitTimeoutMillis);
+            SubmitQuizResponse response = new SubmitQuizResponse();
+            response.score = score;
+            response.totalPoints = null;
+            response.message = "Pending";
+            return response;
+        }
+    }
+
+    private static SubmitQuizResponse alreadySubmitted() {
+        SubmitQuizResponse resp = new SubmitQuizResponse();
+        resp.score = null;
+        resp.totalPoints = null;
+        resp.message = "Already submitted";
+        return resp;
+    }
+
+    private void runFlushLoop() {
+        List<Pending> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Pending first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null)
+                    continue;
+                batch.add(first);
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+                while (batch.size() < batchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0)
+                        break;
+                    Pending next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null)
+                        break;
+                    batch.add(next);
+                    queue.drainTo(batch, batchSize - batch.size());
+                }
+            } catch (InterruptedException e) {
+                // shutdown: fall through, flush what we hold and drain the rest
+                queue.drainTo(batch);
+            }
+            if (!batch.isEmpty()) {
+                flush(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<Pending> batch) {
+        Map<Pending, Result> results;
+        try {
+            results = transactionTemplate.execute(status -> writeBatch(batch));
+        } catch (DuplicateKeyException e) {
+            // another writer got in between our probe and insert; settle each item on its own
+            log.warn("Duplicate attempt in batch of {}, retrying individually", batch.size());
+            results = new HashMap<>();
+            for (Pending p : batch) {
+                try {
+                    results.putAll(transactionTemplate.execute(status -> writeBatch(List.of(p))));
+                } catch (DuplicateKeyException dup) {
+                    results.put(p, new Result(true, 0));
+                } catch (Exception ex) {
+                    fail(p, ex);
+                }
+            }
+        } catch (Exception e) {
+            log.error("Failed to write {} quiz submissions: {}", batch.size(), e.getMessage(), e);
+            for (Pending p : batch)
+                fail(p, e);
+            return;
+        }
+
+        for (Map.Entry<Pending, Result> e : results.entrySet()) {
+            Pending p = e.getKey();
+            Result r = e.getValue();
+            attemptIndex.markAttempted(p.quizId, p.userId);
+            inFlight.remove(p.key);
+            if (!r.isDuplicate())
+                leaderboardService.recordPoints(p.userId, p.username, r.getTotalPoints());
+            p.future.complete(r);
+        }
+    }
+
+    private void fail(Pending p, Exception e) {
+        inFlight.remove(p.key);
+        p.future.completeExceptionally(e);
+    }
+
+    private Map<Pending, Result> writeBatch(List<Pending> batch) {
+        Map<Pending, Result> results = new LinkedHashMap<>();
+
+        // 1. duplicates: from the attempted-user index when it covers everyone, else one probe per quiz
+        Map<Long, List<Pending>> byQuiz = new HashMap<>();
+        for (Pending p : batch)
+            byQuiz.computeIfAbsent(p.quizId, k -> new ArrayList<>()).add(p);
+        List<Pending> fresh = new ArrayList<>(batch.size());
+        for (Map.Entry<Long, List<Pending>> e : byQuiz.entrySet()) {
+            Set<Long> existing = existingAttempts(e.getKey(), e.getValue());
+            for (Pending p : e.getValue()) {
+                if (existing.contains(p.userId))
+                    results.put(p, new Result(true, 0));
+                else
+                    fresh.add(p);
+            }
+        }
+        if (fresh.isEmpty())
+            return results;
+
+        // 2. attempts and point increments as two JDBC batches
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> attemptRows = new ArrayList<>(fresh.size());
+        Map<Long, Long> increments = new LinkedHashMap<>();
+        for (Pending p : fresh) {
+            attemptRows.add(new Object[] { p.quizId, p.userId, p.answersJson, p.score, now });
+            increments.merge(p.userId, (long) p.score, Long::sum);
+        }
+        jdbcTemplate.batchUpdate(INSERT_ATTEMPT_SQL, attemptRows);
+        List<Object[]> pointRows = new ArrayList<>(increments.size());
+        for (Map.Entry<Long, Long> e : increments.entrySet())
+            pointRows.add(new Object[] { e.getKey(), e.getValue(), now });
+        jdbcTemplate.batchUpdate(ADD_POINTS_SQL, pointRows);
+
+        // 3. read back the new totals for the responses and the leaderboard
+        Map<Long, Long> totals = currentTotals(increments.keySet());
+        for (Pending p : fresh)
+            results.put(p, new Result(false, totals.getOrDefault(p.userId, (long) p.score)));
+        return results;
+    }
+
+    private Set<Long> existingAttempts(long quizId, List<Pending> pending) {
+        boolean tracked = true;
+        for (Pending p : pending)
+            tracked &= attemptIndex.isTracked(p.userId);
+        if (tracked) {
+            Set<Long> known = new HashSet<>();
+            for (Pending p : pending) {
+                if (attemptIndex.hasAttempted(quizId, p.userId))
+                    known.add(p.userId);
+            }
+            return known;
+        }
+        StringBuilder sql = new StringBuilder("SELECT user_id FROM quiz_attempt WHERE quiz_id = ? AND user_id IN (");
+        Object[] args = new Object[pending.size() + 1];
+        args[0] = quizId;
+        for (int i = 0; i < pending.size(); i++) {
+            sql.append(i == 0 ? "?" : ",?");
+            args[i + 1] = pending.get(i).userId;
+        }
+        sql.append(')');
+        List<Long> ids = jdbcTemplate.queryForList(sql.toString(), Long.class, args);
+        return ids.isEmpty() ? Collections.emptySet() : new HashSet<>(ids);
+    }
+
+    private Map<Long, Long> currentTotals(Set<Long> userIds) {
+        StringBuilder sql = new StringBuilder("SELECT user_id, total_points FROM user_points WHERE user_id IN (");
+        Object[] args = userIds.toArray();
+        for (int i = 0; i < args.length; i++)
+            sql.append(i == 0 ? "?" : ",?");
+        sql.append(')');
+        Map<Long, Long> totals = new HashMap<>();
+        jdbcTemplate.query(sql.toString(), rs -> {
+            totals.put(rs.getLong(1), rs.getLong(2));
+        }, args);
+        return totals;
+    }
+}
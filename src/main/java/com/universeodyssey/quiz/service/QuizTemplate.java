@@ -0,0 +1,98 @@
+package com.universeodyssey.quiz.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.universeodyssey.quiz.dto.QuizDto;
+import com.universeodyssey.quiz.dto.QuizQuestionDto;
+import com.universeodyssey.quiz.entity.Quiz;
+import com.universeodyssey.quiz.entity.QuizQuestion;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable, pre-parsed view of one quiz: the question list served to players
+ * (options already decoded from JSON) plus the answer key used for scoring.
+ * Built once per published quiz and shared by every request.
+ */
+final class QuizTemplate {
+    private static final TypeReference<List<String>> OPTIONS_TYPE = new TypeReference<>() {
+    };
+
+    final long quizId;
+    final LocalDate date;
+    final String title;
+    // shared across requests; handed out only as copies
+    private final List<QuizQuestionDto> questions;
+
+    private final long[] questionIds;
+    private final int[] correctIndexes;
+    private final int[] points;
+
+    QuizTemplate(Quiz quiz, List<QuizQuestion> questionEntities, ObjectMapper mapper) {
+        this.quizId = quiz.getId();
+        this.date = quiz.getDate();
+        this.title = quiz.getTitle();
+
+        int n = questionEntities.size();
+        List<QuizQuestionDto> list = new ArrayList<>(n);
+        this.questionIds = new long[n];
+        this.correctIndexes = new int[n];
+        this.points = new int[n];
+        for (int i = 0; i < n; i++) {
+            QuizQuestion q = questionEntities.get(i);
+            QuizQuestionDto qdto = new QuizQuestionDto();
+            qdto.id = q.getId();
+            qdto.questionText = q.getQuestionText();
+            try {
+                qdto.options = Collections.unmodifiableList(mapper.readValue(q.getOptions(), OPTIONS_TYPE));
+            } catch (Exception ex) {
+                qdto.options = Collections.singletonList(q.getOptions());
+            }
+            qdto.points = q.getPoints();
+            list.add(qdto);
+
+            questionIds[i] = q.getId();
+            correctIndexes[i] = q.getCorrectIndex() == null ? -1 : q.getCorrectIndex();
+            points[i] = q.getPoints() == null ? 0 : q.getPoints();
+        }
+        this.questions = Collections.unmodifiableList(list);
+    }
+
+    /**
+     * Per-request copy carrying the caller's completion overlay. Questions are
+     * copied too; only their unmodifiable option lists are shared.
+     */
+    QuizDto toDto(boolean completed, Integer previousScore) {
+        List<QuizQuestionDto> copies = new ArrayList<>(questions.size());
+        for (QuizQuestionDto q : questions) {
+            QuizQuestionDto copy = new QuizQuestionDto();
+            copy.id = q.id;
+            copy.questionText = q.questionText;
+            copy.options = q.options;
+            copy.points = q.points;
+            copies.add(copy);
+        }
+        QuizDto dto = new QuizDto();
+        dto.id = quizId;
+        dto.title = title;
+        dto.date = date;
+        dto.questions = copies;
+        dto.completed = completed;
+        dto.previousScore = previousScore;
+        return dto;
+    }
+
+    int score(Map<Long, Integer> answers) {
+        int total = 0;
+        for (int i = 0; i < questionIds.length; i++) {
+            Integer selected = answers.get(questionIds[i]);
+            if (selected != null && correctIndexes[i] >= 0 && selected == correctIndexes[i])
+                total += points[i];
+        }
+        return total;
+    }
+}
@@ -0,0 +1,317 @@
+package com.universeodyssey.quiz.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory order-statistic tree of user totals.
+ *
+ * Entries are ordered by points (descending) and then by user id, so every user
+ * has a distinct, stable rank. The tree is a treap augmented with subtree sizes:
+ * updates, rank lookups and rank selection are O(log n), and a top-K or window
+ * read walks only the nodes it returns. Readers share a read lock; updates take
+ * the write lock.
+ */
+public class RankedLeaderboard {
+
+    public static final class Entry {
+        private final long userId;
+        private final String username;
+        private final long points;
+
+        public Entry(long userId, String username, long points) {
+            this.userId = userId;
+            this.username = username;
+            this.points = points;
+        }
+
+        public long getUserId() { return userId; }
+        public String getUsername() { return username; }
+        public long getPoints() { return points; }
+    }
+
+    /**
+     * A user's rank together with the entries ranked around it, read under one lock
+     * so the rank, board size and window are consistent with each other.
+     */
+    public static final class Neighborhood {
+        private final Entry entry;
+        private final int rank;
+        private final int total;
+        private final int firstRank;
+        private final List<Entry> entries;
+
+        Neighborhood(Entry entry, int rank, int total, int firstRank, List<Entry> entries) {
+            this.entry = entry;
+            this.rank = rank;
+            this.total = total;
+            this.firstRank = firstRank;
+            this.entries = entries;
+        }
+
+        public Entry getEntry() { return entry; }
+        public int getRank() { return rank; }
+        public int getTotal() { return total; }
+        public int getFirstRank() { return firstRank; }
+        public List<Entry> getEntries() { return entries; }
+    }
+
+    private static final class Node {
+        final Entry entry;
+        final int priority;
+        int size = 1;
+        Node left;
+        Node right;
+
+        Node(Entry entry, int priority) {
+            this.entry = entry;
+            this.priority = priority;
+        }
+    }
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private Map<Long, Entry> byUser = new HashMap<>();
+    private Node root;
+
+    /**
+     * Insert or replace the total for a user. A null username keeps the cached one.
+     */
+    public void update(long userId, String username, long points) {
+        lock.writeLock().lock();
+        try {
+            Entry previous = byUser.get(userId);
+            if (previous != null) {
+                if (username == null)
+                    username = previous.getUsername();
+                if (previous.getPoints() == points && Objects.equals(previous.getUsername(), username))
+                    return;
+                root = delete(root, previous);
+            }
+            Entry entry = new Entry(userId, username, points);
+            byUser.put(userId, entry);
+            root = insert(root, new Node(entry, ThreadLocalRandom.current().nextInt()));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long userId) {
+        lock.writeLock().lock();
+        try {
+            Entry previous = byUser.remove(userId);
+            if (previous != null)
+                root = delete(root, previous);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Replace the whole board. The new tree is built before the lock is taken so
+     * readers only block for the swap.
+     */
+    public void rebuild(Collection<Entry> entries) {
+        Map<Long, Entry> index = new HashMap<>(Math.max(16, entries.size() * 2));
+        Node newRoot = null;
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (Entry e : entries) {
+            Entry previous = index.put(e.getUserId(), e);
+            if (previous != null)
+                newRoot = delete(newRoot, previous);
+            newRoot = insert(newRoot, new Node(e, random.nextInt()));
+        }
+        lock.writeLock().lock();
+        try {
+            byUser = index;
+            root = newRoot;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public Entry get(long userId) {
+        lock.readLock().lock();
+        try {
+            return byUser.get(userId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 1-based rank of a user, or 0 if the user has no points recorded.
+     */
+    public int rankOf(long userId) {
+        lock.readLock().lock();
+        try {
+            Entry entry = byUser.get(userId);
+            return entry == null ? 0 : rank(root, entry);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * The user's rank plus up to {@code radius} entries on each side, or null if the
+     * user is not on the board.
+     */
+    public Neighborhood around(long userId, int radius) {
+        lock.readLock().lock();
+        try {
+            Entry entry = byUser.get(userId);
+            if (entry == null)
+                return null;
+            int rank = rank(root, entry);
+            int total = size(root);
+            int from = Math.max(1, rank - radius);
+            int to = Math.min(total, rank + radius);
+            List<Entry> out = new ArrayList<>(to - from + 1);
+            collect(root, from, to, 0, out);
+            return new Neighborhood(entry, rank, total, from, out);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<Entry> top(int k) {
+        return range(1, k);
+    }
+
+    /**
+     * Entries ranked fromRank .. fromRank + count - 1 (1-based, clipped to the board).
+     */
+    public List<Entry> range(int fromRank, int count) {
+        lock.readLock().lock();
+        try {
+            int from = Math.max(1, fromRank);
+            int to = Math.min(size(root), fromRank + count - 1);
+            if (to < from)
+                return Collections.emptyList();
+            List<Entry> out = new ArrayList<>(to - from + 1);
+            collect(root, from, to, 0, out);
+            return out;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size(root);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // --- treap internals (callers hold the write lock or own the tree) ---
+
+    private static int compare(Entry a, Entry b) {
+        int c = Long.compare(b.getPoints(), a.getPoints());
+        return c != 0 ? c : Long.compare(a.getUserId(), b.getUserId());
+    }
+
+    private static int rank(Node t, Entry entry) {
+        int rank = 0;
+        while (t != null) {
+            int c = compare(entry, t.entry);
+            if (c < 0) {
+                t = t.left;
+            } else {
+                rank += size(t.left) + 1;
+                if (c == 0)
+                    return rank;
+                t = t.right;
+            }
+        }
+        return 0;
+    }
+
+    private static int size(Node n) {
+        return n == null ? 0 : n.size;
+    }
+
+    private static void resize(Node n) {
+        n.size = size(n.left) + size(n.right) + 1;
+    }
+
+    private static Node insert(Node t, Node n) {
+        if (t == null)
+            return n;
+        if (compare(n.entry, t.entry) < 0) {
+            t.left = insert(t.left, n);
+            if (t.left.priority > t.priority)
+                t = rotateRight(t);
+        } else {
+            t.right = insert(t.right, n);
+            if (t.right.priority > t.priority)
+                t = rotateLeft(t);
+        }
+        resize(t);
+        return t;
+    }
+
+    private static Node delete(Node t, Entry e) {
+        if (t == null)
+            return null;
+        int c = compare(e, t.entry);
+        if (c == 0)
+            return merge(t.left, t.right);
+        if (c < 0)
+            t.left = delete(t.left, e);
+        else
+            t.right = delete(t.right, e);
+        resize(t);
+        return t;
+    }
+
+    private static Node merge(Node a, Node b) {
+        if (a == null)
+            return b;
+        if (b == null)
+            return a;
+        if (a.priority > b.priority) {
+            a.right = merge(a.right, b);
+            resize(a);
+            return a;
+        }
+        b.left = merge(a, b.left);
+        resize(b);
+        return b;
+    }
+
+    private static Node rotateRight(Node t) {
+        Node l = t.left;
+        t.left = l.right;
+        l.right = t;
+        resize(t);
+        return l;
+    }
+
+    private static Node rotateLeft(Node t) {
+        Node r = t.right;
+        t.right = r.left;
+        r.left = t;
+        resize(t);
+        return r;
+    }
+
+    private static void collect(Node t, int from, int to, int before, List<Entry> out) {
+        if (t == null)
+            return;
+        int rank = before + size(t.left) + 1;
+        if (from < rank)
+            collect(t.left, from, to, before, out);
+        if (from <= rank && rank <= to)
+            out.add(t.entry);
+        if (rank < to)
+            collect(t.right, from, to, rank, out);
+    }
+}
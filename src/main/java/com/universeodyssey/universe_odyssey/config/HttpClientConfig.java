@@ -0,0 +1,26 @@
+package com.universeodyssey.universe_odyssey.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+
+/**
+ * Shared JDK HttpClient behind {@code OutboundHttpClient}.
+ */
+@Configuration
+public class HttpClientConfig {
+
+    @Bean
+    public HttpClient httpClient(@Value("${http.client.connect-timeout-ms:3000}") long connectTimeoutMs) {
+        return HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+    }
+}
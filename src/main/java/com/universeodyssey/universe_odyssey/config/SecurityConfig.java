@@ -40,7 +40,8 @@ public class SecurityConfig {
                                 "/animations/**",
                                 "/favicon.png",
                                 "/static/**",
-                                "/images/**")
+                                "/images/**",
+                                "/img/**")
                         .permitAll()
 
                         // Frontend SPA routes (forward to React)
@@ -4,6 +4,8 @@ import com.universeodyssey.universe_odyssey.model.PlanetDetail;
 import com.universeodyssey.universe_odyssey.model.User;
 import com.universeodyssey.universe_odyssey.repository.PlanetDetailRepository;
 import com.universeodyssey.universe_odyssey.repository.UserRepository;
+import com.universeodyssey.universe_odyssey.service.ChatResponseCache;
+import com.universeodyssey.universe_odyssey.service.news.NewsAggregatorService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -17,10 +19,15 @@ public class AdminApiController {
 
     private final PlanetDetailRepository planetRepo;
     private final UserRepository userRepo;
+    private final ChatResponseCache chatCache;
+    private final NewsAggregatorService newsAggregator;
 
-    public AdminApiController(PlanetDetailRepository planetRepo, UserRepository userRepo) {
+    public AdminApiController(PlanetDetailRepository planetRepo, UserRepository userRepo,
+            ChatResponseCache chatCache, NewsAggregatorService newsAggregator) {
         this.planetRepo = planetRepo;
         this.userRepo = userRepo;
+        this.chatCache = chatCache;
+        this.newsAggregator = newsAggregator;
     }
 
     @GetMapping("/stats")
@@ -34,6 +41,19 @@ public class AdminApiController {
         return ResponseEntity.ok(m);
     }
 
+    @GetMapping("/chat-cache")
+    public Map<String, Object> chatCacheStats() {
+        return chatCache.stats();
+    }
+
+    @GetMapping("/news-sources")
+    public ResponseEntity<?> newsSourceStats() {
+        NewsAggregatorService.AggregationReport lastRun = newsAggregator.getLastRun();
+        if (lastRun == null)
+            return ResponseEntity.noContent().build();
+        return ResponseEntity.ok(lastRun);
+    }
+
     @GetMapping("/planets")
     public List<PlanetDetail> listPlanets() {
         return planetRepo.findAll();
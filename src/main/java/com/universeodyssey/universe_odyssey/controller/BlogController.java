@@ -6,13 +6,16 @@ import com.universeodyssey.universe_odyssey.model.User;
 import com.universeodyssey.universe_odyssey.repository.UserRepository;
 import com.universeodyssey.universe_odyssey.service.BlogService;
 import jakarta.servlet.http.HttpSession;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
@@ -21,6 +24,8 @@ import java.util.Optional;
 @RequestMapping("/api/blogs")
 public class BlogController {
 
+    private static final int MAX_PAGE_SIZE = 50;
+
     private final BlogService blogService;
     private final UserRepository userRepository;
 
@@ -39,13 +44,28 @@ public class BlogController {
         return userRepository.findById(userId).orElse(null);
     }
 
+    /**
+     * Published blogs, newest first. Pass the returned nextCursor to continue;
+     * it is null on the last slice.
+     */
     @GetMapping
     public ResponseEntity<?> getAllBlogs(
-            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(required = false) String cursor,
             @RequestParam(defaultValue = "10") int size) {
-        Pageable pageable = PageRequest.of(page, size);
-        Page<Blog> blogs = blogService.getAllPublishedBlogs(pageable);
-        return ResponseEntity.ok(blogs);
+        try {
+            return ResponseEntity.ok(
+                    blogService.getPublishedSummaries(cursor, Math.max(1, Math.min(size, MAX_PAGE_SIZE))));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    /**
+     * Blogs gaining readers, likes and comments fastest right now.
+     */
+    @GetMapping("/trending")
+    public ResponseEntity<?> getTrending(@RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(blogService.getTrending(Math.max(1, Math.min(limit, MAX_PAGE_SIZE))));
     }
 
     @GetMapping("/{id}")
@@ -59,7 +79,8 @@ public class BlogController {
 
         Map<String, Object> response = new HashMap<>();
         response.put("blog", blog);
-        response.put("likes", blogService.getLikeCount(id));
+        response.put("likes", blog.getLikeCount());
+        response.put("comments", blog.getCommentCount());
 
         // User currentUser = getCurrentUser(session); // Already defined above
         if (currentUser != null) {
@@ -73,6 +94,29 @@ public class BlogController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * The post's rendered body. Carries a strong ETag (the content hash), so
+     * clients revalidate with If-None-Match and get 304 until the post changes.
+     */
+    @GetMapping("/{id}/html")
+    public ResponseEntity<String> getBlogHtml(@PathVariable Long id, WebRequest request) {
+        Optional<String> hash = blogService.getContentHash(id);
+        if (hash.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        String etag = "\"" + hash.get() + "\"";
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return blogService.getContentHtml(id)
+                .map(html -> ResponseEntity.ok()
+                        .eTag(etag)
+                        .cacheControl(CacheControl.noCache().cachePublic())
+                        .contentType(new MediaType(MediaType.TEXT_HTML, StandardCharsets.UTF_8))
+                        .body(html))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
     @PostMapping
     public ResponseEntity<?> createBlog(@RequestBody Blog blog, HttpSession session) {
         User user = getCurrentUser(session);
@@ -1,27 +1,39 @@
 package com.universeodyssey.universe_odyssey.controller;
 
 import com.universeodyssey.universe_odyssey.dto.GeminiChatRequest;
+import com.universeodyssey.universe_odyssey.service.GeminiChatService;
 import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.*;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/gemini")
 public class GeminiProxyController {
 
-    @Value("${gemini.api.key}")
-    private String apiKey;
+    private static final Logger logger = LoggerFactory.getLogger(GeminiProxyController.class);
 
-    private final RestTemplate restTemplate = new RestTemplate();
+    private final GeminiChatService chatService;
+    private final long streamTimeoutMs;
+
+    public GeminiProxyController(GeminiChatService chatService,
+            @Value("${gemini.chat.stream-timeout-ms:90000}") long streamTimeoutMs) {
+        this.chatService = chatService;
+        this.streamTimeoutMs = streamTimeoutMs;
+    }
 
     @PostMapping("/chat")
     public ResponseEntity<?> chat(@Valid @RequestBody GeminiChatRequest req) {
 
-        if (apiKey == null || apiKey.isBlank()) {
+        if (!chatService.isConfigured()) {
             return ResponseEntity.status(500).body(Map.of("error", "Gemini API key missing"));
         }
 
@@ -31,45 +43,69 @@ public class GeminiProxyController {
 
         String planet = (req.getPlanet() != null) ? req.getPlanet() : "the planet";
 
-        // SYSTEM + USER PROMPT
-        String message =
-                "You are Cosmos AI, an intelligent space assistant. " +
-                        "Provide accurate and scientific details ONLY about " + planet + ". " +
-                        "Be friendly but factual.\n\nUser: " + req.getQuestion();
-
-        // ⭐ CORRECT GEMINI REQUEST FORMAT ⭐
-        Map<String, Object> payload = Map.of(
-                "contents", List.of(
-                        Map.of(
-                                "role", "user",
-                                "parts", List.of(
-                                        Map.of("text", message)
-                                )
-                        )
-                )
-        );
+        try {
+            return ResponseEntity.ok(chatService.chat(planet, req.getQuestion()));
+        } catch (Exception e) {
+            logger.error("Gemini error: {}", e.getMessage(), e);
+            return ResponseEntity.status(500)
+                    .body(Map.of("error", "Gemini request failed", "details", e.getMessage()));
+        }
+    }
 
-        String url =
-                "https://generativelanguage.googleapis.com/v1/models/gemini-2.5-flash:generateContent?key=" + apiKey;
+    /**
+     * Same chat, relayed as server-sent events while Gemini generates:
+     * {@code chunk} events carry text, then one {@code done} or {@code error}.
+     * The request thread is released immediately.
+     */
+    @PostMapping(value = "/chat/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter chatStream(@Valid @RequestBody GeminiChatRequest req) {
+        SseEmitter emitter = new SseEmitter(streamTimeoutMs);
+
+        if (!chatService.isConfigured()) {
+            sendErrorAndComplete(emitter, "Gemini API key missing");
+            return emitter;
+        }
+        if (req.getQuestion() == null || req.getQuestion().isBlank()) {
+            sendErrorAndComplete(emitter, "Missing question field");
+            return emitter;
+        }
 
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
+        String planet = (req.getPlanet() != null) ? req.getPlanet() : "the planet";
 
-        HttpEntity<Map<String, Object>> entity = new HttpEntity<>(payload, headers);
+        CompletableFuture<Void> generation = chatService.streamChat(planet, req.getQuestion(), text -> {
+            try {
+                emitter.send(SseEmitter.event().name("chunk").data(text, MediaType.TEXT_PLAIN));
+            } catch (IOException e) {
+                // browser went away; stops the upstream stream
+                throw new UncheckedIOException(e);
+            }
+        });
+        generation.whenComplete((v, ex) -> {
+            if (ex == null) {
+                try {
+                    emitter.send(SseEmitter.event().name("done").data(""));
+                    emitter.complete();
+                } catch (IOException e) {
+                    emitter.completeWithError(e);
+                }
+            } else if (!generation.isCancelled()) {
+                logger.error("Gemini stream error: {}", ex.getMessage());
+                sendErrorAndComplete(emitter, "Gemini request failed");
+            }
+        });
+        emitter.onTimeout(() -> generation.cancel(true));
+        emitter.onError(e -> generation.cancel(true));
+        // no-op once the answer is done; aborts it if the response ends early
+        emitter.onCompletion(() -> generation.cancel(true));
+        return emitter;
+    }
 
+    private void sendErrorAndComplete(SseEmitter emitter, String message) {
         try {
-            System.out.println("🤖 Sending to Gemini: " + message);
-            ResponseEntity<String> response =
-                    restTemplate.exchange(url, HttpMethod.POST, entity, String.class);
-
-            System.out.println("✅ Gemini response: " + response.getBody());
-            return ResponseEntity.ok(response.getBody());
-
-        } catch (Exception e) {
-            System.err.println("❌ Gemini error: " + e.getMessage());
-            e.printStackTrace();
-            return ResponseEntity.status(500)
-                    .body(Map.of("error", "Gemini request failed", "details", e.getMessage()));
+            emitter.send(SseEmitter.event().name("error").data(message, MediaType.TEXT_PLAIN));
+            emitter.complete();
+        } catch (IOException | IllegalStateException e) {
+            emitter.completeWithError(e);
         }
     }
 }
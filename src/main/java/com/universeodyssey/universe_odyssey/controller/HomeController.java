@@ -1,5 +1,6 @@
 package com.universeodyssey.universe_odyssey.controller;
 
+import com.universeodyssey.universe_odyssey.service.NewsFeedCache;
 import com.universeodyssey.universe_odyssey.service.NewsService;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
@@ -10,16 +11,19 @@ import org.springframework.web.bind.annotation.PathVariable;
 public class HomeController {
 
     private final NewsService newsService;
+    private final NewsFeedCache feedCache;
 
-    public HomeController(NewsService newsService) {
+    public HomeController(NewsService newsService, NewsFeedCache feedCache) {
         this.newsService = newsService;
+        this.feedCache = feedCache;
     }
 
     // Root "/" is now handled by HealthController
 
     @GetMapping("/home")
     public String homePath(Model model) {
-        model.addAttribute("latestNews", newsService.getLatestNews(5));
+        model.addAttribute("latestNews", feedCache.latest()
+                .orElseGet(() -> newsService.getLatestNews(NewsFeedCache.LATEST_SIZE)));
         return "home";
     }
 
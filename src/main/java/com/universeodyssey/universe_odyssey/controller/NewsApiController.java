@@ -1,22 +1,30 @@
 package com.universeodyssey.universe_odyssey.controller;
 
 import com.universeodyssey.universe_odyssey.model.NewsArticle;
+import com.universeodyssey.universe_odyssey.service.NewsFeedCache;
 import com.universeodyssey.universe_odyssey.service.NewsService;
 import org.springframework.data.domain.Page;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/news")
 @CrossOrigin(origins = "*")
 public class NewsApiController {
 
+    private static final int MAX_FEED_SIZE = 100;
+
     private final NewsService newsService;
+    private final NewsFeedCache feedCache;
 
-    public NewsApiController(NewsService newsService) {
+    public NewsApiController(NewsService newsService, NewsFeedCache feedCache) {
         this.newsService = newsService;
+        this.feedCache = feedCache;
     }
 
     @GetMapping
@@ -24,11 +32,17 @@ public class NewsApiController {
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size,
             @RequestParam(required = false) String source,
-            @RequestParam(required = false) String category) {
+            @RequestParam(required = false) String category,
+            @RequestParam(defaultValue = "true") boolean collapse) {
 
         Page<NewsArticle> newsPage;
 
-        if (source != null && category != null) {
+        // a source filter lists that source's own articles, duplicates included
+        if (collapse && source == null) {
+            newsPage = category != null
+                    ? newsService.getStoriesByCategory(category, page, size)
+                    : newsService.getStories(page, size);
+        } else if (source != null && category != null) {
             newsPage = newsService.getNewsBySourceAndCategory(source, category, page, size);
         } else if (source != null) {
             newsPage = newsService.getNewsBySource(source, page, size);
@@ -41,6 +55,30 @@ public class NewsApiController {
         return ResponseEntity.ok(newsPage);
     }
 
+    /**
+     * Cursor-paged feed for infinite scrolling. Pass the returned nextCursor
+     * to continue; it is null on the last slice.
+     */
+    @GetMapping("/feed")
+    public ResponseEntity<?> getFeed(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String source,
+            @RequestParam(required = false) String category,
+            @RequestParam(defaultValue = "true") boolean collapse) {
+        if (cursor == null && size == NewsFeedCache.FEED_SIZE) {
+            Optional<byte[]> cached = feedCache.firstFeedSlice(source, category, collapse);
+            if (cached.isPresent())
+                return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(cached.get());
+        }
+        try {
+            return ResponseEntity.ok(newsService.getFeed(cursor, Math.max(1, Math.min(size, MAX_FEED_SIZE)),
+                    source, category, collapse));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<NewsArticle> getNewsById(@PathVariable Long id) {
         return newsService.getNewsById(id)
@@ -49,8 +87,13 @@ public class NewsApiController {
     }
 
     @GetMapping("/latest")
-    public ResponseEntity<List<NewsArticle>> getLatestNews(
+    public ResponseEntity<?> getLatestNews(
             @RequestParam(defaultValue = "5") int limit) {
+        if (limit == NewsFeedCache.LATEST_SIZE) {
+            Optional<byte[]> cached = feedCache.latestJson();
+            if (cached.isPresent())
+                return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(cached.get());
+        }
         List<NewsArticle> latestNews = newsService.getLatestNews(limit);
         return ResponseEntity.ok(latestNews);
     }
@@ -0,0 +1,49 @@
+package com.universeodyssey.universe_odyssey.controller;
+
+import com.universeodyssey.universe_odyssey.service.news.NewsThumbnailService;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.util.Optional;
+
+@RestController
+public class NewsImageController {
+
+    // a thumbnail for an id never changes, so browsers and proxies may keep it
+    private static final String CACHE_CONTROL = "public, max-age=2592000, immutable";
+
+    private final NewsThumbnailService thumbnails;
+
+    public NewsImageController(NewsThumbnailService thumbnails) {
+        this.thumbnails = thumbnails;
+    }
+
+    /**
+     * Card-sized JPEG of a news article's image, or 404 when it has none or
+     * the source image cannot be used.
+     */
+    @GetMapping("/img/news/{id}")
+    public void thumbnail(@PathVariable long id, HttpServletResponse response) throws IOException {
+        Optional<MappedByteBuffer> image = thumbnails.thumbnail(id);
+        if (image.isEmpty()) {
+            response.setHeader(HttpHeaders.CACHE_CONTROL, "public, max-age=3600");
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        MappedByteBuffer bytes = image.get();
+        response.setContentType(MediaType.IMAGE_JPEG_VALUE);
+        response.setContentLength(bytes.remaining());
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+        WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+        while (bytes.hasRemaining())
+            out.write(bytes);
+    }
+}
@@ -0,0 +1,57 @@
+package com.universeodyssey.universe_odyssey.controller;
+
+import com.universeodyssey.universe_odyssey.service.search.SearchIndex;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/search")
+public class SearchController {
+
+    private static final int MAX_PAGE_SIZE = 50;
+
+    private final SearchIndex searchIndex;
+
+    public SearchController(SearchIndex searchIndex) {
+        this.searchIndex = searchIndex;
+    }
+
+    /**
+     * Ranked news and blog matches for {@code q}. Hits carry an HTML-escaped
+     * title and snippet with matches in {@code <mark>}; facets count the
+     * matches per type, source, category and tag.
+     */
+    @GetMapping
+    public ResponseEntity<?> search(
+            @RequestParam String q,
+            @RequestParam(required = false) String type,
+            @RequestParam(required = false) String source,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) String tag,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        if (q.isBlank()) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Missing search query"));
+        }
+        Map<String, String> filters = new HashMap<>();
+        filters.put("type", type);
+        filters.put("source", source);
+        filters.put("category", category);
+        filters.put("tag", tag);
+
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        SearchIndex.SearchResults results = searchIndex.search(q, filters, Math.max(0, page) * pageSize, pageSize);
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("query", q);
+        response.put("total", results.total);
+        response.put("page", page);
+        response.put("size", pageSize);
+        response.put("hits", results.hits);
+        response.put("facets", results.facets);
+        return ResponseEntity.ok(response);
+    }
+}
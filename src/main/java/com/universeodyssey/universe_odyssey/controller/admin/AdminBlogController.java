@@ -2,6 +2,7 @@ package com.universeodyssey.universe_odyssey.controller.admin;
 
 import com.universeodyssey.universe_odyssey.model.Blog;
 import com.universeodyssey.universe_odyssey.repository.BlogRepository;
+import com.universeodyssey.universe_odyssey.service.BlogService;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -13,9 +14,11 @@ import org.springframework.web.bind.annotation.RequestMapping;
 public class AdminBlogController {
 
     private final BlogRepository blogRepository;
+    private final BlogService blogService;
 
-    public AdminBlogController(BlogRepository blogRepository) {
+    public AdminBlogController(BlogRepository blogRepository, BlogService blogService) {
         this.blogRepository = blogRepository;
+        this.blogService = blogService;
     }
 
     @GetMapping
@@ -27,7 +30,7 @@ public class AdminBlogController {
 
     @GetMapping("/delete/{id}")
     public String deleteBlog(@PathVariable Long id) {
-        blogRepository.deleteById(id);
+        blogService.deleteBlogAsAdmin(id);
         return "redirect:/admin/blogs";
     }
 }
@@ -0,0 +1,30 @@
+package com.universeodyssey.universe_odyssey.dto;
+
+import java.util.List;
+
+/**
+ * One slice of the blog list. There is no total count; pass nextCursor back
+ * to get the following slice.
+ */
+public class BlogFeedResponse {
+
+    private final List<BlogSummary> content;
+    private final String nextCursor;
+
+    public BlogFeedResponse(List<BlogSummary> content, String nextCursor) {
+        this.content = content;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<BlogSummary> getContent() {
+        return content;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public boolean isHasNext() {
+        return nextCursor != null;
+    }
+}
@@ -0,0 +1,68 @@
+package com.universeodyssey.universe_odyssey.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * What the blog list shows of a post: no content body and no author entity.
+ */
+public class BlogSummary {
+
+    private final Long id;
+    private final String title;
+    private final String summary;
+    private final String tags;
+    private final String authorName;
+    private final Long viewCount;
+    private final Long likeCount;
+    private final Long commentCount;
+    private final LocalDateTime createdAt;
+
+    public BlogSummary(Long id, String title, String summary, String tags, String authorName, Long viewCount,
+            Long likeCount, Long commentCount, LocalDateTime createdAt) {
+        this.id = id;
+        this.title = title;
+        this.summary = summary;
+        this.tags = tags;
+        this.authorName = authorName;
+        this.viewCount = viewCount;
+        this.likeCount = likeCount;
+        this.commentCount = commentCount;
+        this.createdAt = createdAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getSummary() {
+        return summary;
+    }
+
+    public String getTags() {
+        return tags;
+    }
+
+    public String getAuthorName() {
+        return authorName;
+    }
+
+    public Long getViewCount() {
+        return viewCount;
+    }
+
+    public Long getLikeCount() {
+        return likeCount;
+    }
+
+    public Long getCommentCount() {
+        return commentCount;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+}
@@ -0,0 +1,32 @@
+package com.universeodyssey.universe_odyssey.dto;
+
+import com.universeodyssey.universe_odyssey.model.NewsArticle;
+
+import java.util.List;
+
+/**
+ * One slice of the news feed. There is no total count; pass nextCursor back
+ * to get the following slice.
+ */
+public class NewsFeedResponse {
+
+    private final List<NewsArticle> content;
+    private final String nextCursor;
+
+    public NewsFeedResponse(List<NewsArticle> content, String nextCursor) {
+        this.content = content;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<NewsArticle> getContent() {
+        return content;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public boolean isHasNext() {
+        return nextCursor != null;
+    }
+}
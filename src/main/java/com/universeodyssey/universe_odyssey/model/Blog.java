@@ -1,12 +1,16 @@
 package com.universeodyssey.universe_odyssey.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.Set;
 
 @Entity
-@Table(name = "blogs")
+@Table(name = "blogs", indexes = {
+        @Index(name = "idx_blogs_status_created", columnList = "status, created_at, id")
+})
 public class Blog {
 
     @Id
@@ -16,9 +20,21 @@ public class Blog {
     @Column(nullable = false)
     private String title;
 
+    // source text as typed; readers get contentHtml from /api/blogs/{id}/html
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
     @Column(columnDefinition = "TEXT", nullable = false)
     private String content;
 
+    // sanitized HTML rendered from content on every write
+    @JsonIgnore
+    @Column(name = "content_html", columnDefinition = "MEDIUMTEXT")
+    private String contentHtml;
+
+    // SHA-256 of contentHtml, served as its ETag
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
     @Column(length = 500)
     private String summary;
 
@@ -36,9 +52,16 @@ public class Blog {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
-    @Column(name = "view_count")
+    // counters are only changed by atomic SQL increments, never by saving the entity
+    @Column(name = "view_count", updatable = false)
     private Long viewCount = 0L;
 
+    @Column(name = "like_count", nullable = false, updatable = false, columnDefinition = "BIGINT NOT NULL DEFAULT 0")
+    private Long likeCount = 0L;
+
+    @Column(name = "comment_count", nullable = false, updatable = false, columnDefinition = "BIGINT NOT NULL DEFAULT 0")
+    private Long commentCount = 0L;
+
     @Column(name = "tags")
     private String tags; // Comma separated tags
 
@@ -48,6 +71,10 @@ public class Blog {
         updatedAt = LocalDateTime.now();
         if (viewCount == null)
             viewCount = 0L;
+        if (likeCount == null)
+            likeCount = 0L;
+        if (commentCount == null)
+            commentCount = 0L;
     }
 
     @PreUpdate
@@ -84,6 +111,22 @@ public class Blog {
         this.content = content;
     }
 
+    public String getContentHtml() {
+        return contentHtml;
+    }
+
+    public void setContentHtml(String contentHtml) {
+        this.contentHtml = contentHtml;
+    }
+
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    public void setContentHash(String contentHash) {
+        this.contentHash = contentHash;
+    }
+
     public String getSummary() {
         return summary;
     }
@@ -132,6 +175,22 @@ public class Blog {
         this.viewCount = viewCount;
     }
 
+    public Long getLikeCount() {
+        return likeCount;
+    }
+
+    public void setLikeCount(Long likeCount) {
+        this.likeCount = likeCount;
+    }
+
+    public Long getCommentCount() {
+        return commentCount;
+    }
+
+    public void setCommentCount(Long commentCount) {
+        this.commentCount = commentCount;
+    }
+
     public String getTags() {
         return tags;
     }
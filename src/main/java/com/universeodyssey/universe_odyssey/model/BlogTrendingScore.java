@@ -0,0 +1,47 @@
+package com.universeodyssey.universe_odyssey.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Checkpoint of one blog's trending score, so a restart resumes the ranking
+ * instead of starting from zero. The score is as of {@code checkpointAt}.
+ */
+@Entity
+@Table(name = "blog_trending_scores")
+public class BlogTrendingScore {
+
+    @Id
+    @Column(name = "blog_id")
+    private Long blogId;
+
+    @Column(nullable = false)
+    private Double score;
+
+    @Column(name = "checkpoint_at", nullable = false)
+    private LocalDateTime checkpointAt;
+
+    public Long getBlogId() {
+        return blogId;
+    }
+
+    public void setBlogId(Long blogId) {
+        this.blogId = blogId;
+    }
+
+    public Double getScore() {
+        return score;
+    }
+
+    public void setScore(Double score) {
+        this.score = score;
+    }
+
+    public LocalDateTime getCheckpointAt() {
+        return checkpointAt;
+    }
+
+    public void setCheckpointAt(LocalDateTime checkpointAt) {
+        this.checkpointAt = checkpointAt;
+    }
+}
@@ -1,10 +1,17 @@
 package com.universeodyssey.universe_odyssey.model;
 
+import com.universeodyssey.universe_odyssey.util.UrlFingerprint;
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Entity
-@Table(name = "news_articles")
+@Table(name = "news_articles", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_news_url_hash", columnNames = { "url_hash" }) }, indexes = {
+        @Index(name = "idx_news_cluster_hash", columnList = "cluster_hash"),
+        @Index(name = "idx_news_published", columnList = "published_date, id"),
+        @Index(name = "idx_news_source_published", columnList = "source, published_date, id"),
+        @Index(name = "idx_news_category_published", columnList = "category, published_date, id") })
 public class NewsArticle {
 
     @Id
@@ -23,6 +30,14 @@ public class NewsArticle {
     @Column(name = "original_url", nullable = false, length = 1000)
     private String originalUrl;
 
+    // fingerprint of the canonicalized original URL, see UrlFingerprint
+    @Column(name = "url_hash")
+    private Long urlHash;
+
+    // url_hash of the first article of the same story, see NewsClusterIndex
+    @Column(name = "cluster_hash")
+    private Long clusterHash;
+
     @Column(nullable = false, length = 1000)
     private String url;
 
@@ -44,9 +59,16 @@ public class NewsArticle {
     @Column(nullable = false)
     private boolean hidden = false;
 
+    // other sources covering the same story, filled when listing collapsed stories
+    @Transient
+    private List<String> alsoReportedBy;
+
     @PrePersist
     protected void onCreate() {
         fetchedAt = LocalDateTime.now();
+        if (urlHash == null) {
+            urlHash = UrlFingerprint.of(originalUrl);
+        }
     }
 
     // Getters and Setters
@@ -88,11 +110,28 @@ public class NewsArticle {
 
     public void setOriginalUrl(String originalUrl) {
         this.originalUrl = originalUrl;
+        this.urlHash = UrlFingerprint.of(originalUrl);
         if (this.url == null) {
             this.url = originalUrl;
         }
     }
 
+    public Long getUrlHash() {
+        return urlHash;
+    }
+
+    public void setUrlHash(Long urlHash) {
+        this.urlHash = urlHash;
+    }
+
+    public Long getClusterHash() {
+        return clusterHash;
+    }
+
+    public void setClusterHash(Long clusterHash) {
+        this.clusterHash = clusterHash;
+    }
+
     public String getUrl() {
         return url;
     }
@@ -148,4 +187,12 @@ public class NewsArticle {
     public void setHidden(boolean hidden) {
         this.hidden = hidden;
     }
+
+    public List<String> getAlsoReportedBy() {
+        return alsoReportedBy;
+    }
+
+    public void setAlsoReportedBy(List<String> alsoReportedBy) {
+        this.alsoReportedBy = alsoReportedBy;
+    }
 }
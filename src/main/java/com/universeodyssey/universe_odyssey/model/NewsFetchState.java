@@ -0,0 +1,94 @@
+package com.universeodyssey.universe_odyssey.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * What we last saw from one news source, so the next fetch can be
+ * conditional (ETag / Last-Modified), incremental, or skipped when the body
+ * hash is unchanged.
+ */
+@Entity
+@Table(name = "news_fetch_state")
+public class NewsFetchState {
+
+    @Id
+    @Column(name = "source_key", length = 50)
+    private String sourceKey;
+
+    @Column(length = 255)
+    private String etag;
+
+    @Column(name = "last_modified", length = 64)
+    private String lastModified;
+
+    @Column(name = "last_published_at")
+    private LocalDateTime lastPublishedAt;
+
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    public NewsFetchState() {
+    }
+
+    public NewsFetchState(String sourceKey) {
+        this.sourceKey = sourceKey;
+    }
+
+    @PrePersist
+    @PreUpdate
+    protected void onSave() {
+        updatedAt = LocalDateTime.now();
+    }
+
+    public String getSourceKey() {
+        return sourceKey;
+    }
+
+    public void setSourceKey(String sourceKey) {
+        this.sourceKey = sourceKey;
+    }
+
+    public String getEtag() {
+        return etag;
+    }
+
+    public void setEtag(String etag) {
+        this.etag = etag;
+    }
+
+    public String getLastModified() {
+        return lastModified;
+    }
+
+    public void setLastModified(String lastModified) {
+        this.lastModified = lastModified;
+    }
+
+    public LocalDateTime getLastPublishedAt() {
+        return lastPublishedAt;
+    }
+
+    public void setLastPublishedAt(LocalDateTime lastPublishedAt) {
+        this.lastPublishedAt = lastPublishedAt;
+    }
+
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    public void setContentHash(String contentHash) {
+        this.contentHash = contentHash;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
@@ -4,8 +4,11 @@ import com.universeodyssey.universe_odyssey.model.Blog;
 import com.universeodyssey.universe_odyssey.model.BlogLike;
 import com.universeodyssey.universe_odyssey.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -17,4 +20,7 @@ public interface BlogLikeRepository extends JpaRepository<BlogLike, Long> {
     Optional<BlogLike> findByBlogAndUser(Blog blog, User user);
 
     void deleteByBlogAndUser(Blog blog, User user);
+
+    @Query("SELECT l.blog.id FROM BlogLike l WHERE l.user.id = :userId")
+    List<Long> findBlogIdsByUserId(@Param("userId") Long userId);
 }
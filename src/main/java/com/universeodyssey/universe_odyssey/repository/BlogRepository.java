@@ -1,15 +1,70 @@
 package com.universeodyssey.universe_odyssey.repository;
 
+import com.universeodyssey.universe_odyssey.dto.BlogSummary;
 import com.universeodyssey.universe_odyssey.model.Blog;
 import com.universeodyssey.universe_odyssey.model.User;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 @Repository
 public interface BlogRepository extends JpaRepository<Blog, Long> {
+
+    // List row of a blog; reads content only for posts without a summary
+    String SUMMARY = "SELECT new com.universeodyssey.universe_odyssey.dto.BlogSummary(b.id, b.title, "
+            + "CASE WHEN b.summary IS NULL OR b.summary = '' THEN SUBSTRING(b.content, 1, 200) ELSE b.summary END, "
+            + "b.tags, a.fullName, b.viewCount, b.likeCount, b.commentCount, b.createdAt) "
+            + "FROM Blog b JOIN b.author a ";
+
     Page<Blog> findByStatusOrderByCreatedAtDesc(Blog.BlogStatus status, Pageable pageable);
 
     Page<Blog> findByAuthorOrderByCreatedAtDesc(User author, Pageable pageable);
+
+    // Batches in id order, for loading the search index
+    List<Blog> findByStatusAndIdGreaterThanOrderByIdAsc(Blog.BlogStatus status, Long id, Limit limit);
+
+    // List rows after (createdAt, id), newest first
+    @Query(SUMMARY + "WHERE b.status = :status "
+            + "AND (b.createdAt < :createdAt OR (b.createdAt = :createdAt AND b.id < :id)) "
+            + "ORDER BY b.createdAt DESC, b.id DESC")
+    List<BlogSummary> findSummariesAfter(@Param("status") Blog.BlogStatus status,
+            @Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Limit limit);
+
+    @Query("SELECT b.contentHash FROM Blog b WHERE b.id = :id")
+    String findContentHashById(@Param("id") Long id);
+
+    @Query("SELECT b.contentHtml FROM Blog b WHERE b.id = :id")
+    String findContentHtmlById(@Param("id") Long id);
+
+    @Query(SUMMARY + "WHERE b.status = :status AND b.id IN :ids")
+    List<BlogSummary> findSummariesByIdIn(@Param("status") Blog.BlogStatus status, @Param("ids") List<Long> ids);
+
+    // Atomic counter updates; the entity never writes these columns
+    @Modifying
+    @Query(value = "UPDATE blogs SET like_count = like_count + :delta WHERE id = :id", nativeQuery = true)
+    int addLikes(@Param("id") Long id, @Param("delta") long delta);
+
+    @Modifying
+    @Query(value = "UPDATE blogs SET comment_count = comment_count + :delta WHERE id = :id", nativeQuery = true)
+    int addComments(@Param("id") Long id, @Param("delta") long delta);
+
+    @Query("SELECT b.likeCount FROM Blog b WHERE b.id = :id")
+    Long findLikeCountById(@Param("id") Long id);
+
+    // Recount from the source tables, for rows that predate the columns or drifted; rewrites only rows that differ
+    @Modifying
+    @Query(value = "UPDATE blogs b SET "
+            + "b.like_count = (SELECT COUNT(*) FROM blog_likes l WHERE l.blog_id = b.id), "
+            + "b.comment_count = (SELECT COUNT(*) FROM blog_comments c WHERE c.blog_id = b.id) "
+            + "WHERE b.like_count <> (SELECT COUNT(*) FROM blog_likes l WHERE l.blog_id = b.id) "
+            + "OR b.comment_count <> (SELECT COUNT(*) FROM blog_comments c WHERE c.blog_id = b.id)", nativeQuery = true)
+    int reconcileCounters();
 }
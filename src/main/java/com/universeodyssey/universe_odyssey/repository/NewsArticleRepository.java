@@ -1,17 +1,26 @@
 package com.universeodyssey.universe_odyssey.repository;
 
 import com.universeodyssey.universe_odyssey.model.NewsArticle;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface NewsArticleRepository extends JpaRepository<NewsArticle, Long> {
 
+    // JPQL fragments shared by the feed queries below
+    String AFTER = "(n.publishedDate < :date OR (n.publishedDate = :date AND n.id < :id))";
+    String STORY = "(n.clusterHash IS NULL OR n.clusterHash = n.urlHash)";
+
     // Find all news with pagination, sorted by published date descending
     Page<NewsArticle> findAllByOrderByPublishedDateDesc(Pageable pageable);
 
@@ -25,11 +34,70 @@ public interface NewsArticleRepository extends JpaRepository<NewsArticle, Long>
     Page<NewsArticle> findBySourceAndCategoryOrderByPublishedDateDesc(String source, String category,
             Pageable pageable);
 
-    // Check if article already exists by URL (for duplicate detection)
-    boolean existsByOriginalUrl(String originalUrl);
+    // One article per story cluster (plus unclustered ones), newest first
+    @Query("SELECT n FROM NewsArticle n WHERE " + STORY + " ORDER BY n.publishedDate DESC")
+    Page<NewsArticle> findStoriesOrderByPublishedDateDesc(Pageable pageable);
+
+    // One article per story cluster within a category
+    @Query("SELECT n FROM NewsArticle n WHERE n.category = :category AND " + STORY
+            + " ORDER BY n.publishedDate DESC")
+    Page<NewsArticle> findStoriesByCategoryOrderByPublishedDateDesc(@Param("category") String category,
+            Pageable pageable);
+
+    // Cluster and source of the other articles in these story clusters
+    @Query("SELECT n.clusterHash, n.source FROM NewsArticle n "
+            + "WHERE n.clusterHash IN :clusters AND n.urlHash <> n.clusterHash")
+    List<Object[]> findClusterMemberSources(@Param("clusters") Collection<Long> clusters);
+
+    // Keyset feed: the articles after (date, id) in (publishedDate, id) descending order.
+    // Each variant is served by the matching composite index, so any depth costs the same.
+    @Query("SELECT n FROM NewsArticle n WHERE " + AFTER + " ORDER BY n.publishedDate DESC, n.id DESC")
+    List<NewsArticle> findFeedAfter(@Param("date") LocalDateTime date, @Param("id") long id, Limit limit);
+
+    @Query("SELECT n FROM NewsArticle n WHERE n.source = :source AND " + AFTER
+            + " ORDER BY n.publishedDate DESC, n.id DESC")
+    List<NewsArticle> findFeedBySourceAfter(@Param("source") String source, @Param("date") LocalDateTime date,
+            @Param("id") long id, Limit limit);
+
+    @Query("SELECT n FROM NewsArticle n WHERE n.category = :category AND " + AFTER
+            + " ORDER BY n.publishedDate DESC, n.id DESC")
+    List<NewsArticle> findFeedByCategoryAfter(@Param("category") String category, @Param("date") LocalDateTime date,
+            @Param("id") long id, Limit limit);
+
+    @Query("SELECT n FROM NewsArticle n WHERE n.source = :source AND n.category = :category AND " + AFTER
+            + " ORDER BY n.publishedDate DESC, n.id DESC")
+    List<NewsArticle> findFeedBySourceAndCategoryAfter(@Param("source") String source,
+            @Param("category") String category, @Param("date") LocalDateTime date, @Param("id") long id,
+            Limit limit);
+
+    @Query("SELECT n FROM NewsArticle n WHERE " + STORY + " AND " + AFTER
+            + " ORDER BY n.publishedDate DESC, n.id DESC")
+    List<NewsArticle> findStoryFeedAfter(@Param("date") LocalDateTime date, @Param("id") long id, Limit limit);
+
+    @Query("SELECT n FROM NewsArticle n WHERE n.category = :category AND " + STORY + " AND " + AFTER
+            + " ORDER BY n.publishedDate DESC, n.id DESC")
+    List<NewsArticle> findStoryFeedByCategoryAfter(@Param("category") String category,
+            @Param("date") LocalDateTime date, @Param("id") long id, Limit limit);
+
+    // Check if article already exists by URL fingerprint (for duplicate detection)
+    boolean existsByUrlHash(Long urlHash);
+
+    // Which of these URL fingerprints are already stored (batch duplicate detection)
+    @Query("SELECT n.urlHash FROM NewsArticle n WHERE n.urlHash IN :hashes")
+    List<Long> findExistingUrlHashes(@Param("hashes") Collection<Long> hashes);
+
+    // Articles stored under these URL fingerprints
+    List<NewsArticle> findByUrlHashIn(Collection<Long> urlHashes);
+
+    // Batches in id order, for loading the search index
+    List<NewsArticle> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    // Find article by URL fingerprint
+    Optional<NewsArticle> findByUrlHash(Long urlHash);
 
-    // Find article by URL
-    Optional<NewsArticle> findByOriginalUrl(String originalUrl);
+    // Rows stored before url_hash existed
+    @Query("SELECT n.id, n.originalUrl FROM NewsArticle n WHERE n.urlHash IS NULL")
+    List<Object[]> findIdsWithoutUrlHash();
 
     // Get latest N articles for home page widget
     List<NewsArticle> findTop5ByOrderByPublishedDateDesc();
@@ -0,0 +1,9 @@
+package com.universeodyssey.universe_odyssey.repository;
+
+import com.universeodyssey.universe_odyssey.model.NewsFetchState;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface NewsFetchStateRepository extends JpaRepository<NewsFetchState, String> {
+}
@@ -57,6 +57,7 @@ public class NewsScheduler {
     public void fetchNewsOnStartup() {
         logger.info("Fetching initial news on application startup...");
         try {
+            newsAggregatorService.loadStoryClusters();
             newsAggregatorService.aggregateAllNews();
             logger.info("Initial news fetch completed successfully");
         } catch (Exception e) {
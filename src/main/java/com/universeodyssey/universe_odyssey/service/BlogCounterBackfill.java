@@ -0,0 +1,37 @@
+package com.universeodyssey.universe_odyssey.service;
+
+import com.universeodyssey.universe_odyssey.repository.BlogRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * One-off recount of blog like and comment counters from their tables, for
+ * blogs written before the columns existed. The counters are kept by atomic
+ * increments otherwise, so this only runs when
+ * {@code blog.counters.backfill-on-startup} is set; turn it off again once
+ * it has run.
+ */
+@Component
+@ConditionalOnProperty(name = "blog.counters.backfill-on-startup", havingValue = "true")
+public class BlogCounterBackfill {
+
+    private static final Logger logger = LoggerFactory.getLogger(BlogCounterBackfill.class);
+
+    private final BlogRepository blogRepository;
+
+    public BlogCounterBackfill(BlogRepository blogRepository) {
+        this.blogRepository = blogRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfill() {
+        int rows = blogRepository.reconcileCounters();
+        logger.info("Backfilled like and comment counters of {} blogs", rows);
+    }
+}
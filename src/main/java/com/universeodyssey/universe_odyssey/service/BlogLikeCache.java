@@ -0,0 +1,82 @@
+package com.universeodyssey.universe_odyssey.service;
+
+import com.universeodyssey.universe_odyssey.repository.BlogLikeRepository;
+import com.universeodyssey.universe_odyssey.util.Transactions;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The set of blog ids each recently active user has liked, so "has liked"
+ * needs no query. A user's set is loaded on first use and kept up to date by
+ * {@link #update}; the least recently used sets are dropped beyond the size
+ * bound.
+ */
+@Component
+public class BlogLikeCache {
+
+    private final BlogLikeRepository likeRepository;
+    private final int maxUsers;
+
+    private final LinkedHashMap<Long, Set<Long>> likedByUser = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Set<Long>> eldest) {
+            return size() > maxUsers;
+        }
+    };
+    // bumped on every change, so a load that raced with one is not cached
+    private long version;
+
+    public BlogLikeCache(BlogLikeRepository likeRepository,
+            @Value("${blog.likes.cache.max-users:10000}") int maxUsers) {
+        this.likeRepository = likeRepository;
+        this.maxUsers = maxUsers;
+    }
+
+    public boolean hasLiked(long userId, long blogId) {
+        long seen;
+        synchronized (this) {
+            Set<Long> liked = likedByUser.get(userId);
+            if (liked != null)
+                return liked.contains(blogId);
+            seen = version;
+        }
+        Set<Long> liked = new HashSet<>(likeRepository.findBlogIdsByUserId(userId));
+        synchronized (this) {
+            if (version == seen)
+                likedByUser.putIfAbsent(userId, liked);
+        }
+        return liked.contains(blogId);
+    }
+
+    /**
+     * Record a like or unlike. Inside a transaction the cache is only touched
+     * after commit, so a rolled-back toggle is never visible.
+     */
+    public void update(long userId, long blogId, boolean liked) {
+        Transactions.runAfterCommit(() -> apply(userId, blogId, liked));
+    }
+
+    /**
+     * Drop a deleted blog from every cached set.
+     */
+    public synchronized void forgetBlog(long blogId) {
+        version++;
+        likedByUser.values().forEach(liked -> liked.remove(blogId));
+    }
+
+    private synchronized void apply(long userId, long blogId, boolean liked) {
+        version++;
+        Set<Long> set = likedByUser.get(userId);
+        if (set == null)
+            return;
+        if (liked)
+            set.add(blogId);
+        else
+            set.remove(blogId);
+    }
+}
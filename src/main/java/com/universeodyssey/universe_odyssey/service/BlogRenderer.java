@@ -0,0 +1,66 @@
+package com.universeodyssey.universe_odyssey.service;
+
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.jsoup.safety.Safelist;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Turns the text an author typed into the HTML readers are served, once per
+ * write. Blank lines separate paragraphs and single newlines become line
+ * breaks; markup outside a basic formatting safelist (scripts, styles, event
+ * handlers, images, iframes) is removed. The hash of the result is the
+ * blog's ETag.
+ */
+@Component
+public class BlogRenderer {
+
+    private static final Safelist SAFELIST = Safelist.basic()
+            .addTags("h2", "h3", "h4", "hr")
+            .addProtocols("a", "href", "http", "https", "mailto");
+
+    private static final Document.OutputSettings OUTPUT = new Document.OutputSettings().prettyPrint(false);
+
+    /**
+     * Rendered HTML and the hex SHA-256 of it.
+     */
+    public static final class Rendered {
+        public final String html;
+        public final String hash;
+
+        Rendered(String html, String hash) {
+            this.html = html;
+            this.hash = hash;
+        }
+    }
+
+    public Rendered render(String content) {
+        String html = Jsoup.clean(paragraphs(content == null ? "" : content), "", SAFELIST, OUTPUT);
+        return new Rendered(html, sha256(html));
+    }
+
+    private static String paragraphs(String content) {
+        StringBuilder out = new StringBuilder(content.length() + 64);
+        for (String block : content.replace("\r\n", "\n").split("\n\\s*\n")) {
+            String trimmed = block.strip();
+            if (trimmed.isEmpty())
+                continue;
+            out.append("<p>").append(trimmed.replace("\n", "<br>")).append("</p>");
+        }
+        return out.toString();
+    }
+
+    private static String sha256(String html) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(html.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
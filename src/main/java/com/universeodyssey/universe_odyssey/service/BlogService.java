@@ -1,5 +1,7 @@
 package com.universeodyssey.universe_odyssey.service;
 
+import com.universeodyssey.universe_odyssey.dto.BlogFeedResponse;
+import com.universeodyssey.universe_odyssey.dto.BlogSummary;
 import com.universeodyssey.universe_odyssey.model.Blog;
 import com.universeodyssey.universe_odyssey.model.BlogComment;
 import com.universeodyssey.universe_odyssey.model.BlogLike;
@@ -7,55 +9,156 @@ import com.universeodyssey.universe_odyssey.model.User;
 import com.universeodyssey.universe_odyssey.repository.BlogCommentRepository;
 import com.universeodyssey.universe_odyssey.repository.BlogLikeRepository;
 import com.universeodyssey.universe_odyssey.repository.BlogRepository;
+import com.universeodyssey.universe_odyssey.service.search.SearchIndexer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Optional;
 
 @Service
 public class BlogService {
 
+    private static final Logger logger = LoggerFactory.getLogger(BlogService.class);
+
+    private static final String UNRENDERED_SQL =
+            "SELECT id, content FROM blogs WHERE content_hash IS NULL AND id > ? ORDER BY id LIMIT 100";
+    private static final String SET_RENDERED_SQL = "UPDATE blogs SET content_html = ?, content_hash = ? WHERE id = ?";
+
     private final BlogRepository blogRepository;
     private final BlogLikeRepository likeRepository;
     private final BlogCommentRepository commentRepository;
-    private final com.universeodyssey.universe_odyssey.repository.BlogViewRepository viewRepository;
+    private final BlogViewCounter viewCounter;
+    private final SearchIndexer searchIndexer;
+    private final BlogLikeCache likeCache;
+    private final BlogRenderer renderer;
+    private final BlogTrending trending;
+    private final JdbcTemplate jdbcTemplate;
 
     public BlogService(BlogRepository blogRepository, BlogLikeRepository likeRepository,
             BlogCommentRepository commentRepository,
-            com.universeodyssey.universe_odyssey.repository.BlogViewRepository viewRepository) {
+            BlogViewCounter viewCounter,
+            SearchIndexer searchIndexer, BlogLikeCache likeCache, BlogRenderer renderer, BlogTrending trending,
+            JdbcTemplate jdbcTemplate) {
         this.blogRepository = blogRepository;
         this.likeRepository = likeRepository;
         this.commentRepository = commentRepository;
-        this.viewRepository = viewRepository;
+        this.viewCounter = viewCounter;
+        this.searchIndexer = searchIndexer;
+        this.likeCache = likeCache;
+        this.renderer = renderer;
+        this.trending = trending;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Render posts stored before HTML was rendered at write time. Written with
+     * plain UPDATEs so the entity's @PreUpdate does not reset updated_at.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void renderMissing() {
+        int rendered = 0;
+        long lastId = 0;
+        for (List<Object[]> batch; !(batch = jdbcTemplate.query(UNRENDERED_SQL,
+                (rs, n) -> new Object[] { rs.getLong(1), rs.getString(2) }, lastId)).isEmpty();) {
+            List<Object[]> updates = new ArrayList<>(batch.size());
+            for (Object[] row : batch) {
+                BlogRenderer.Rendered html = renderer.render((String) row[1]);
+                updates.add(new Object[] { html.html, html.hash, row[0] });
+                lastId = (Long) row[0];
+            }
+            jdbcTemplate.batchUpdate(SET_RENDERED_SQL, updates);
+            rendered += batch.size();
+        }
+        if (rendered > 0)
+            logger.info("Rendered HTML for {} blogs", rendered);
+    }
+
+    /**
+     * Published blogs with the highest trending scores, best first.
+     */
+    public List<BlogSummary> getTrending(int limit) {
+        List<BlogTrending.Ranked> ranked = trending.top(Integer.MAX_VALUE);
+        if (ranked.isEmpty())
+            return List.of();
+        List<Long> ids = new ArrayList<>(ranked.size());
+        ranked.forEach(r -> ids.add(r.blogId));
+        Map<Long, BlogSummary> byId = new HashMap<>();
+        for (BlogSummary summary : blogRepository.findSummariesByIdIn(Blog.BlogStatus.PUBLISHED, ids))
+            byId.put(summary.getId(), summary);
+        List<BlogSummary> result = new ArrayList<>(limit);
+        for (Long id : ids) {
+            BlogSummary summary = byId.get(id);
+            if (summary != null && result.size() < limit)
+                result.add(summary);
+        }
+        return result;
+    }
+
+    /**
+     * Hash of the rendered body, or empty for an unknown blog.
+     */
+    public Optional<String> getContentHash(Long id) {
+        return Optional.ofNullable(blogRepository.findContentHashById(id));
+    }
+
+    public Optional<String> getContentHtml(Long id) {
+        return Optional.ofNullable(blogRepository.findContentHtmlById(id));
     }
 
-    public Page<Blog> getAllPublishedBlogs(Pageable pageable) {
-        return blogRepository.findByStatusOrderByCreatedAtDesc(Blog.BlogStatus.PUBLISHED, pageable);
+    private void render(Blog blog) {
+        BlogRenderer.Rendered rendered = renderer.render(blog.getContent());
+        blog.setContentHtml(rendered.html);
+        blog.setContentHash(rendered.hash);
+    }
+
+    /**
+     * Keyset-paged list of published blogs, newest first, as summaries read
+     * in one query without the content body.
+     *
+     * @throws IllegalArgumentException for a malformed cursor
+     */
+    public BlogFeedResponse getPublishedSummaries(String cursor, int size) {
+        FeedCursor after = FeedCursor.decode(cursor);
+        // one extra row tells whether another slice follows
+        List<BlogSummary> rows = blogRepository.findSummariesAfter(Blog.BlogStatus.PUBLISHED,
+                after.getTimestamp(), after.getId(), Limit.of(size + 1));
+        String next = null;
+        if (rows.size() > size) {
+            rows = rows.subList(0, size);
+            BlogSummary last = rows.get(size - 1);
+            next = new FeedCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+        return new BlogFeedResponse(rows, next);
     }
 
     public Page<Blog> getUserBlogs(User user, Pageable pageable) {
         return blogRepository.findByAuthorOrderByCreatedAtDesc(user, pageable);
     }
 
+    /**
+     * Read-only: a signed-in reader's first view is counted in memory and
+     * written by {@link BlogViewCounter} a few seconds later.
+     */
     public Optional<Blog> getBlogById(Long id, User user) {
         Optional<Blog> blogOpt = blogRepository.findById(id);
 
-        blogOpt.ifPresent(blog -> {
-            if (user != null) {
-                boolean hasViewed = viewRepository.existsByBlogAndUser(blog, user);
-                if (!hasViewed) {
-                    com.universeodyssey.universe_odyssey.model.BlogView view = new com.universeodyssey.universe_odyssey.model.BlogView();
-                    view.setBlog(blog);
-                    view.setUser(user);
-                    viewRepository.save(view);
-
-                    blog.setViewCount(blog.getViewCount() + 1);
-                    blogRepository.save(blog);
-                }
-            }
-        });
+        if (blogOpt.isPresent() && user != null) {
+            if (viewCounter.record(id, user.getId()))
+                trending.recordView(id);
+        }
 
         return blogOpt;
     }
@@ -68,7 +171,13 @@ public class BlogService {
     @Transactional
     public Blog createBlog(Blog blog, User author) {
         blog.setAuthor(author);
-        return blogRepository.save(blog);
+        blog.setViewCount(0L);
+        blog.setLikeCount(0L);
+        blog.setCommentCount(0L);
+        render(blog);
+        Blog saved = blogRepository.save(blog);
+        searchIndexer.indexBlog(saved);
+        return saved;
     }
 
     @Transactional
@@ -82,11 +191,14 @@ public class BlogService {
 
         blog.setTitle(updatedBlog.getTitle());
         blog.setContent(updatedBlog.getContent());
+        render(blog);
         blog.setSummary(updatedBlog.getSummary());
         blog.setTags(updatedBlog.getTags());
         blog.setStatus(updatedBlog.getStatus());
 
-        return blogRepository.save(blog);
+        Blog saved = blogRepository.save(blog);
+        searchIndexer.indexBlog(saved);
+        return saved;
     }
 
     @Transactional
@@ -102,7 +214,24 @@ public class BlogService {
         // Ideally DB cascade handles this, but manual cleanup ensures safety
         // For now relying on JPA/DB constraints or we can add manual delete here
 
+        remove(blog);
+    }
+
+    /**
+     * Delete any author's blog, from the admin panel. A missing blog is ignored.
+     */
+    @Transactional
+    public void deleteBlogAsAdmin(Long id) {
+        blogRepository.findById(id).ifPresent(this::remove);
+    }
+
+    private void remove(Blog blog) {
+        Long id = blog.getId();
         blogRepository.delete(blog);
+        searchIndexer.removeBlog(id);
+        viewCounter.forgetBlog(id);
+        likeCache.forgetBlog(id);
+        trending.forgetBlog(id);
     }
 
     @Transactional
@@ -113,26 +242,33 @@ public class BlogService {
         Optional<BlogLike> existingLike = likeRepository.findByBlogAndUser(blog, user);
         if (existingLike.isPresent()) {
             likeRepository.delete(existingLike.get());
+            blogRepository.addLikes(blogId, -1);
+            likeCache.update(user.getId(), blogId, false);
+            trending.recordLike(blogId, false);
             return false; // unliked
         } else {
             BlogLike like = new BlogLike();
             like.setBlog(blog);
             like.setUser(user);
             likeRepository.save(like);
+            blogRepository.addLikes(blogId, 1);
+            likeCache.update(user.getId(), blogId, true);
+            trending.recordLike(blogId, true);
             return true; // liked
         }
     }
 
     public long getLikeCount(Long blogId) {
-        Blog blog = blogRepository.findById(blogId).orElseThrow();
-        return likeRepository.countByBlog(blog);
+        Long count = blogRepository.findLikeCountById(blogId);
+        if (count == null)
+            throw new NoSuchElementException("Blog not found");
+        return count;
     }
 
     public boolean hasUserLiked(Long blogId, User user) {
         if (user == null)
             return false;
-        Blog blog = blogRepository.findById(blogId).orElseThrow();
-        return likeRepository.existsByBlogAndUser(blog, user);
+        return likeCache.hasLiked(user.getId(), blogId);
     }
 
     @Transactional
@@ -145,7 +281,10 @@ public class BlogService {
         comment.setUser(user);
         comment.setContent(content);
 
-        return commentRepository.save(comment);
+        BlogComment saved = commentRepository.save(comment);
+        blogRepository.addComments(blogId, 1);
+        trending.recordComment(blogId, true);
+        return saved;
     }
 
     @Transactional
@@ -158,6 +297,8 @@ public class BlogService {
         }
 
         commentRepository.delete(comment);
+        blogRepository.addComments(comment.getBlog().getId(), -1);
+        trending.recordComment(comment.getBlog().getId(), false);
     }
 
     public Page<BlogComment> getComments(Long blogId, Pageable pageable) {
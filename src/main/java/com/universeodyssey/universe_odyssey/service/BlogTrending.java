@@ -0,0 +1,201 @@
+package com.universeodyssey.universe_odyssey.service;
+
+import com.universeodyssey.universe_odyssey.util.Transactions;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Trending blogs: each new reader, like and comment adds weight to a blog's
+ * score, and scores halve every half-life.
+ *
+ * Scores use forward decay. An event at time t adds {@code w * e^(λ(t - L))}
+ * for a fixed landmark L, so past events never need updating and all scores
+ * shrink by the same factor, which leaves the ranking unchanged. Stored
+ * values are rescaled and L moved up before they grow too large. The top K
+ * are taken with a bounded min-heap on refresh, and the scores are
+ * checkpointed to blog_trending_scores so a restart resumes the ranking.
+ */
+@Service
+public class BlogTrending {
+
+    private static final Logger logger = LoggerFactory.getLogger(BlogTrending.class);
+
+    private static final String DELETE_SQL = "DELETE FROM blog_trending_scores";
+    private static final String INSERT_SQL =
+            "INSERT INTO blog_trending_scores (blog_id, score, checkpoint_at) VALUES (?, ?, ?)";
+    // move the landmark before e^(λ(t - L)) gets near overflow
+    private static final double MAX_EXPONENT = 50;
+    // scores that have decayed below this are dropped
+    private static final double MIN_SCORE = 0.01;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final double decayPerMs;
+    private final double viewWeight;
+    private final double likeWeight;
+    private final double commentWeight;
+    private final int topK;
+
+    private final LongDoubleMap scores = new LongDoubleMap(1024);
+    private long landmarkMs = System.currentTimeMillis();
+    private volatile List<Ranked> top = List.of();
+
+    public BlogTrending(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+            @Value("${blog.trending.half-life-hours:24}") double halfLifeHours,
+            @Value("${blog.trending.view-weight:1}") double viewWeight,
+            @Value("${blog.trending.like-weight:3}") double likeWeight,
+            @Value("${blog.trending.comment-weight:5}") double commentWeight,
+            @Value("${blog.trending.top-k:50}") int topK) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.decayPerMs = Math.log(2) / (halfLifeHours * 3_600_000d);
+        this.viewWeight = viewWeight;
+        this.likeWeight = likeWeight;
+        this.commentWeight = commentWeight;
+        this.topK = topK;
+    }
+
+    /**
+     * A blog and its current score, as of the last refresh.
+     */
+    public static final class Ranked {
+        public final long blogId;
+        public final double score;
+
+        Ranked(long blogId, double score) {
+            this.blogId = blogId;
+            this.score = score;
+        }
+    }
+
+    public void recordView(long blogId) {
+        record(blogId, viewWeight);
+    }
+
+    public void recordLike(long blogId, boolean liked) {
+        record(blogId, liked ? likeWeight : -likeWeight);
+    }
+
+    public void recordComment(long blogId, boolean added) {
+        record(blogId, added ? commentWeight : -commentWeight);
+    }
+
+    public synchronized void forgetBlog(long blogId) {
+        scores.remove(blogId);
+    }
+
+    /**
+     * Up to {@code k} (at most top-k) blogs, highest score first.
+     */
+    public List<Ranked> top(int k) {
+        List<Ranked> ranked = top;
+        return ranked.subList(0, Math.min(Math.max(k, 0), ranked.size()));
+    }
+
+    /**
+     * Recompute the top K and drop blogs whose score has faded.
+     */
+    @Scheduled(initialDelayString = "${blog.trending.refresh-ms:60000}",
+            fixedDelayString = "${blog.trending.refresh-ms:60000}")
+    public void refresh() {
+        refresh(System.currentTimeMillis());
+    }
+
+    /**
+     * Replace the stored checkpoint with the current scores.
+     */
+    @Scheduled(initialDelayString = "${blog.trending.checkpoint-ms:300000}",
+            fixedDelayString = "${blog.trending.checkpoint-ms:300000}")
+    public void checkpoint() {
+        long now = System.currentTimeMillis();
+        List<Object[]> rows = new ArrayList<>();
+        Timestamp at = new Timestamp(now);
+        synchronized (this) {
+            double factor = Math.exp(-decayPerMs * (now - landmarkMs));
+            scores.forEach((blogId, value) -> rows.add(new Object[] { blogId, value * factor, at }));
+        }
+        try {
+            transactionTemplate.executeWithoutResult(tx -> {
+                jdbcTemplate.update(DELETE_SQL);
+                if (!rows.isEmpty())
+                    jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+            });
+            logger.debug("Checkpointed {} trending scores", rows.size());
+        } catch (RuntimeException e) {
+            logger.error("Failed to checkpoint trending scores: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Resume from the last checkpoint, decaying each score for the time since.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long now = System.currentTimeMillis();
+        int[] rows = new int[1];
+        jdbcTemplate.query("SELECT blog_id, score, checkpoint_at FROM blog_trending_scores", rs -> {
+            long age = Math.max(0, now - rs.getTimestamp(3).getTime());
+            apply(rs.getLong(1), rs.getDouble(2) * Math.exp(-decayPerMs * age), now);
+            rows[0]++;
+        });
+        refresh(now);
+        logger.info("Trending scores loaded for {} blogs", rows[0]);
+    }
+
+    @PreDestroy
+    public void stop() {
+        checkpoint();
+    }
+
+    /**
+     * Scores change only once the event's transaction commits.
+     */
+    private void record(long blogId, double weight) {
+        Transactions.runAfterCommit(() -> apply(blogId, weight, System.currentTimeMillis()));
+    }
+
+    synchronized void apply(long blogId, double weight, long nowMs) {
+        if (decayPerMs * (nowMs - landmarkMs) > MAX_EXPONENT) {
+            scores.scale(Math.exp(-decayPerMs * (nowMs - landmarkMs)));
+            landmarkMs = nowMs;
+        }
+        double value = scores.add(blogId, weight * Math.exp(decayPerMs * (nowMs - landmarkMs)));
+        // an unlike can take a score below zero
+        if (value <= 0)
+            scores.remove(blogId);
+    }
+
+    void refresh(long nowMs) {
+        PriorityQueue<Ranked> heap = new PriorityQueue<>(topK + 1, Comparator.comparingDouble(r -> r.score));
+        synchronized (this) {
+            double factor = Math.exp(-decayPerMs * (nowMs - landmarkMs));
+            scores.removeBelow(MIN_SCORE / factor);
+            scores.forEach((blogId, value) -> {
+                if (heap.size() < topK) {
+                    heap.add(new Ranked(blogId, value * factor));
+                } else if (value * factor > heap.peek().score) {
+                    heap.poll();
+                    heap.add(new Ranked(blogId, value * factor));
+                }
+            });
+        }
+        List<Ranked> ranked = new ArrayList<>(heap);
+        ranked.sort(Comparator.comparingDouble((Ranked r) -> r.score).reversed());
+        top = List.copyOf(ranked);
+    }
+}
@@ -0,0 +1,219 @@
+package com.universeodyssey.universe_odyssey.service;
+
+import com.universeodyssey.universe_odyssey.util.Transactions;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts distinct blog readers without writing on the read path.
+ *
+ * A per-blog set of user ids (loaded from blog_views at startup) decides
+ * whether a view is new, new views are added to a per-blog {@link LongAdder},
+ * and a scheduled flush writes the pending (blog, user) rows and the
+ * accumulated increments in two JDBC batches. Views recorded before the sets
+ * are loaded are checked against the table at flush time instead. The unique
+ * key on blog_views stays the source of truth.
+ */
+@Service
+public class BlogViewCounter {
+
+    private static final Logger logger = LoggerFactory.getLogger(BlogViewCounter.class);
+
+    private static final String INSERT_VIEW_SQL =
+            "INSERT IGNORE INTO blog_views (blog_id, user_id, viewed_at) VALUES (?, ?, ?)";
+    private static final String ADD_VIEWS_SQL = "UPDATE blogs SET view_count = view_count + ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Map<Long, Set<Long>> viewersByBlog = new ConcurrentHashMap<>();
+    private final Map<Long, LongAdder> pendingCounts = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<View> pendingViews = new ConcurrentLinkedQueue<>();
+    private volatile boolean loaded;
+
+    public BlogViewCounter(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Load every (blog_id, user_id) pair. Views recorded meanwhile are
+     * verified at flush time, so none are lost or double counted.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long[] rows = new long[1];
+        jdbcTemplate.query("SELECT blog_id, user_id FROM blog_views", rs -> {
+            mark(rs.getLong(1), rs.getLong(2));
+            rows[0]++;
+        });
+        loaded = true;
+        logger.info("Blog view index loaded with {} views across {} blogs", rows[0], viewersByBlog.size());
+    }
+
+    /**
+     * Note that a signed-in user opened a blog. Touches only memory.
+     *
+     * @return true when this is known to be the user's first view
+     */
+    public boolean record(long blogId, long userId) {
+        if (!loaded) {
+            pendingViews.add(new View(blogId, userId, false));
+            return false;
+        }
+        if (!mark(blogId, userId))
+            return false;
+        pendingCounts.computeIfAbsent(blogId, k -> new LongAdder()).increment();
+        pendingViews.add(new View(blogId, userId, true));
+        return true;
+    }
+
+    /**
+     * Drop a deleted blog's viewers and unwritten views once the delete
+     * commits.
+     */
+    public void forgetBlog(long blogId) {
+        Transactions.runAfterCommit(() -> {
+            viewersByBlog.remove(blogId);
+            pendingCounts.remove(blogId);
+            pendingViews.removeIf(v -> v.blogId == blogId);
+        });
+    }
+
+    /**
+     * Write pending views and count increments. On failure everything is put
+     * back for the next run.
+     */
+    @Scheduled(initialDelayString = "${blog.views.flush-ms:5000}", fixedDelayString = "${blog.views.flush-ms:5000}")
+    public synchronized void flush() {
+        List<View> views = new ArrayList<>();
+        for (View v; (v = pendingViews.poll()) != null;)
+            views.add(v);
+        Map<Long, Long> increments = new LinkedHashMap<>();
+        for (Map.Entry<Long, LongAdder> e : pendingCounts.entrySet()) {
+            long n = e.getValue().sumThenReset();
+            if (n != 0)
+                increments.put(e.getKey(), n);
+        }
+        if (views.isEmpty() && increments.isEmpty())
+            return;
+
+        List<View> written = null;
+        try {
+            written = verify(views, increments);
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            List<Object[]> viewRows = new ArrayList<>(written.size());
+            for (View v : written)
+                viewRows.add(new Object[] { v.blogId, v.userId, now });
+            List<Object[]> countRows = new ArrayList<>(increments.size());
+            for (Map.Entry<Long, Long> e : increments.entrySet())
+                countRows.add(new Object[] { e.getValue(), e.getKey() });
+            transactionTemplate.executeWithoutResult(tx -> {
+                if (!viewRows.isEmpty())
+                    jdbcTemplate.batchUpdate(INSERT_VIEW_SQL, viewRows);
+                if (!countRows.isEmpty())
+                    jdbcTemplate.batchUpdate(ADD_VIEWS_SQL, countRows);
+            });
+            logger.debug("Flushed {} blog views over {} blogs", viewRows.size(), countRows.size());
+        } catch (RuntimeException e) {
+            logger.error("Failed to flush {} blog views: {}", views.size(), e.getMessage());
+            // verified views carry their increments from here on
+            pendingViews.addAll(written != null ? written : views);
+            for (Map.Entry<Long, Long> entry : increments.entrySet())
+                pendingCounts.computeIfAbsent(entry.getKey(), k -> new LongAdder()).add(entry.getValue());
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        flush();
+    }
+
+    /**
+     * Views to write: those already known to be new, plus unverified ones
+     * that are neither stored nor repeated in this batch. The latter are
+     * counted into {@code increments} once all of them are checked.
+     */
+    private List<View> verify(List<View> views, Map<Long, Long> increments) {
+        List<View> written = new ArrayList<>(views.size());
+        Map<Long, Long> found = new LinkedHashMap<>();
+        Map<Long, Set<Long>> unverified = new LinkedHashMap<>();
+        for (View v : views) {
+            if (v.counted)
+                written.add(v);
+            else
+                unverified.computeIfAbsent(v.blogId, k -> new HashSet<>()).add(v.userId);
+        }
+        for (Map.Entry<Long, Set<Long>> e : unverified.entrySet()) {
+            long blogId = e.getKey();
+            Set<Long> users = e.getValue();
+            for (View v : written) {
+                if (v.blogId == blogId)
+                    users.remove(v.userId);
+            }
+            users.removeAll(storedViewers(blogId, users));
+            for (long userId : users) {
+                written.add(new View(blogId, userId, true));
+                found.merge(blogId, 1L, Long::sum);
+                mark(blogId, userId);
+            }
+        }
+        found.forEach((blogId, n) -> increments.merge(blogId, n, Long::sum));
+        return written;
+    }
+
+    private List<Long> storedViewers(long blogId, Set<Long> users) {
+        if (users.isEmpty())
+            return List.of();
+        StringBuilder sql = new StringBuilder("SELECT user_id FROM blog_views WHERE blog_id = ? AND user_id IN (");
+        Object[] args = new Object[users.size() + 1];
+        args[0] = blogId;
+        int i = 1;
+        for (long userId : users) {
+            sql.append(i == 1 ? "?" : ",?");
+            args[i++] = userId;
+        }
+        sql.append(')');
+        return jdbcTemplate.queryForList(sql.toString(), Long.class, args);
+    }
+
+    /**
+     * Add the user to the blog's viewers; true when they were not in it before.
+     */
+    private boolean mark(long blogId, long userId) {
+        return viewersByBlog.computeIfAbsent(blogId, k -> ConcurrentHashMap.newKeySet()).add(userId);
+    }
+
+    private static final class View {
+        final long blogId;
+        final long userId;
+        // already counted in pendingCounts; otherwise it must be checked against the table
+        final boolean counted;
+
+        View(long blogId, long userId, boolean counted) {
+            this.blogId = blogId;
+            this.userId = userId;
+            this.counted = counted;
+        }
+    }
+}
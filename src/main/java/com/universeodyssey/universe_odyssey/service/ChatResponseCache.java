@@ -0,0 +1,204 @@
+package com.universeodyssey.universe_odyssey.service;
+
+import com.universeodyssey.universe_odyssey.util.MinHash;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Answers to Cosmos AI questions, per planet, so repeated questions skip Gemini.
+ *
+ * Two tiers: an exact match on the normalized question, then a near match
+ * using MinHash signatures over the question's content words and word pairs
+ * ("how many moons does Mars have?" vs "how many moons has Mars got"). The
+ * question word is left out of the signature but must match for a near hit,
+ * so "when did..." and "where did..." stay apart. Entries expire after the
+ * TTL and the least recently used are evicted beyond the size bound.
+ */
+@Component
+public class ChatResponseCache {
+
+    private static final MinHash MIN_HASH = new MinHash(64, 0x5EED);
+    private static final Set<String> STOPWORDS = Set.of(
+            "a", "an", "the", "is", "are", "was", "were", "be", "do", "does", "did", "has", "have", "had", "got",
+            "of", "on", "in", "at", "to", "for", "about", "from", "by", "with", "and", "or",
+            "what", "which", "who", "how", "why", "when", "where", "can", "could", "would", "will",
+            "i", "me", "my", "you", "your", "it", "its", "there", "this", "that", "tell", "please");
+    private static final Set<String> QUESTION_WORDS = Set.of("what", "which", "who", "how", "why", "when", "where");
+
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final double similarityThreshold;
+
+    private final LinkedHashMap<String, Entry> byKey = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<String, List<Entry>> byPlanet = new HashMap<>();
+
+    private final AtomicLong exactHits = new AtomicLong();
+    private final AtomicLong similarHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public ChatResponseCache(@Value("${gemini.chat.cache.max-entries:2000}") int maxEntries,
+            @Value("${gemini.chat.cache.ttl-minutes:1440}") long ttlMinutes,
+            @Value("${gemini.chat.cache.similarity-threshold:0.8}") double similarityThreshold) {
+        this.maxEntries = maxEntries;
+        this.ttlNanos = TimeUnit.MINUTES.toNanos(ttlMinutes);
+        this.similarityThreshold = similarityThreshold;
+    }
+
+    public Optional<String> get(String planet, String question) {
+        if (maxEntries <= 0)
+            return Optional.empty();
+        String planetKey = normalize(planet);
+        String normalized = normalize(question);
+        long now = System.nanoTime();
+
+        synchronized (this) {
+            Entry exact = byKey.get(planetKey + '\u0000' + normalized);
+            if (exact != null) {
+                if (exact.expiresAt - now > 0) {
+                    exactHits.incrementAndGet();
+                    return Optional.of(exact.answer);
+                }
+                remove(exact);
+            }
+
+            int[] signature = signature(normalized);
+            String questionWord = questionWord(normalized);
+            if (signature != null) {
+                List<Entry> candidates = byPlanet.getOrDefault(planetKey, List.of());
+                Entry best = null;
+                double bestSimilarity = similarityThreshold;
+                for (Entry e : candidates) {
+                    if (e.signature == null || e.expiresAt - now <= 0 || !e.questionWord.equals(questionWord))
+                        continue;
+                    double similarity = MinHash.similarity(signature, e.signature);
+                    if (similarity >= bestSimilarity) {
+                        best = e;
+                        bestSimilarity = similarity;
+                    }
+                }
+                if (best != null) {
+                    byKey.get(best.key); // touch for LRU
+                    similarHits.incrementAndGet();
+                    return Optional.of(best.answer);
+                }
+            }
+        }
+        misses.incrementAndGet();
+        return Optional.empty();
+    }
+
+    public void put(String planet, String question, String answer) {
+        if (maxEntries <= 0 || answer == null || answer.isBlank())
+            return;
+        String planetKey = normalize(planet);
+        String normalized = normalize(question);
+        Entry entry = new Entry(planetKey + '\u0000' + normalized, planetKey, signature(normalized),
+                questionWord(normalized), answer, System.nanoTime() + ttlNanos);
+
+        synchronized (this) {
+            Entry previous = byKey.remove(entry.key);
+            if (previous != null)
+                removeFromPlanet(previous);
+            byKey.put(entry.key, entry);
+            byPlanet.computeIfAbsent(planetKey, k -> new ArrayList<>()).add(entry);
+            while (byKey.size() > maxEntries) {
+                Entry eldest = byKey.values().iterator().next();
+                remove(eldest);
+                evictions.incrementAndGet();
+            }
+        }
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> m = new LinkedHashMap<>();
+        synchronized (this) {
+            m.put("entries", byKey.size());
+        }
+        long exact = exactHits.get();
+        long similar = similarHits.get();
+        long miss = misses.get();
+        long total = exact + similar + miss;
+        m.put("maxEntries", maxEntries);
+        m.put("exactHits", exact);
+        m.put("similarHits", similar);
+        m.put("misses", miss);
+        m.put("evictions", evictions.get());
+        m.put("hitRate", total == 0 ? 0.0 : Math.round((exact + similar) * 1000.0 / total) / 10.0);
+        return m;
+    }
+
+    private void remove(Entry entry) {
+        byKey.remove(entry.key);
+        removeFromPlanet(entry);
+    }
+
+    private void removeFromPlanet(Entry entry) {
+        List<Entry> list = byPlanet.get(entry.planet);
+        if (list == null)
+            return;
+        list.remove(entry);
+        if (list.isEmpty())
+            byPlanet.remove(entry.planet);
+    }
+
+    static String normalize(String text) {
+        if (text == null)
+            return "";
+        return text.toLowerCase(Locale.ROOT).replaceAll("[^\\p{L}\\p{N}]+", " ").trim();
+    }
+
+    /**
+     * The first question word ("what", "where", ...), or "" when there is none.
+     */
+    static String questionWord(String normalized) {
+        for (String w : normalized.split(" ")) {
+            if (QUESTION_WORDS.contains(w))
+                return w;
+        }
+        return "";
+    }
+
+    /**
+     * MinHash over content words (crudely singularized) and adjacent word pairs;
+     * null when the question has no content words.
+     */
+    static int[] signature(String normalized) {
+        List<String> words = new ArrayList<>();
+        for (String w : normalized.split(" ")) {
+            if (w.isEmpty() || STOPWORDS.contains(w))
+                continue;
+            words.add(MinHash.singularize(w));
+        }
+        return MIN_HASH.signature(words);
+    }
+
+    private static final class Entry {
+        final String key;
+        final String planet;
+        final int[] signature;
+        final String questionWord;
+        final String answer;
+        final long expiresAt;
+
+        Entry(String key, String planet, int[] signature, String questionWord, String answer, long expiresAt) {
+            this.key = key;
+            this.planet = planet;
+            this.signature = signature;
+            this.questionWord = questionWord;
+            this.answer = answer;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
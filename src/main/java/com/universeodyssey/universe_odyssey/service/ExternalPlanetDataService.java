@@ -3,9 +3,12 @@ package com.universeodyssey.universe_odyssey.service;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.universeodyssey.universe_odyssey.dto.PlanetDetailResponse;
+import com.universeodyssey.universe_odyssey.service.http.Integration;
+import com.universeodyssey.universe_odyssey.service.http.OutboundHttpClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 
 import java.io.File;
 import java.net.URLEncoder;
@@ -17,11 +20,13 @@ import org.springframework.cache.annotation.Cacheable;
 @Service
 public class ExternalPlanetDataService {
 
+    private static final Logger logger = LoggerFactory.getLogger(ExternalPlanetDataService.class);
+
     private static final String JPL_PHYS_API = "https://ssd-api.jpl.nasa.gov/phys.api?body=";
     private static final String NASA_IMAGES_API = "https://images-api.nasa.gov/search";
 
     @Autowired
-    private RestTemplate restTemplate;
+    private OutboundHttpClient http;
 
     private final ObjectMapper objectMapper = new ObjectMapper();
 
@@ -34,18 +39,18 @@ public class ExternalPlanetDataService {
         try {
             // 1) Fetch JPL physical parameters (text response)
             String physUrl = JPL_PHYS_API + URLEncoder.encode(name.trim(), StandardCharsets.UTF_8);
-            String physBody = restTemplate.getForObject(physUrl, String.class);
+            String physBody = http.getString(Integration.JPL, physUrl);
             if (physBody != null) {
                 parseJplPhys(physBody, dto);
             }
         } catch (Exception e) {
-            System.err.println("Error fetching JPL phys data: " + e.getMessage());
+            logger.warn("Error fetching JPL phys data for {}: {}", name, e.getMessage());
         }
 
         try {
             // 2) Fetch NASA images API (JSON)
             String imagesUrl = NASA_IMAGES_API + "?q=" + URLEncoder.encode(name.trim(), StandardCharsets.UTF_8) + "&media_type=image";
-            String imagesBody = restTemplate.getForObject(imagesUrl, String.class);
+            String imagesBody = http.getString(Integration.NASA, imagesUrl);
             if (imagesBody != null) {
                 JsonNode root = objectMapper.readTree(imagesBody);
                 JsonNode items = root.path("collection").path("items");
@@ -63,7 +68,7 @@ public class ExternalPlanetDataService {
                 }
             }
         } catch (Exception e) {
-            System.err.println("Error fetching NASA images: " + e.getMessage());
+            logger.warn("Error fetching NASA images for {}: {}", name, e.getMessage());
         }
 
         // model url and existence check
@@ -162,7 +167,7 @@ public class ExternalPlanetDataService {
                 }
             }
         } catch (Exception e) {
-            System.err.println("Error parsing JPL phys response: " + e.getMessage());
+            logger.warn("Error parsing JPL phys response: {}", e.getMessage());
         }
     }
 
@@ -0,0 +1,52 @@
+package com.universeodyssey.universe_odyssey.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Opaque position in a newest-first feed (news, blogs): the (timestamp, id)
+ * of the last item already returned. The feed continues strictly after it.
+ */
+public final class FeedCursor {
+
+    // before every real item
+    static final FeedCursor START = new FeedCursor(LocalDateTime.of(9999, 12, 31, 0, 0), Long.MAX_VALUE);
+
+    private final LocalDateTime timestamp;
+    private final long id;
+
+    FeedCursor(LocalDateTime timestamp, long id) {
+        this.timestamp = timestamp;
+        this.id = id;
+    }
+
+    public LocalDateTime getTimestamp() {
+        return timestamp;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public String encode() {
+        String raw = timestamp + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws IllegalArgumentException if the cursor was not produced by {@link #encode}
+     */
+    public static FeedCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank())
+            return START;
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int sep = raw.indexOf('|');
+            return new FeedCursor(LocalDateTime.parse(raw.substring(0, sep)), Long.parseLong(raw.substring(sep + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid feed cursor", e);
+        }
+    }
+}
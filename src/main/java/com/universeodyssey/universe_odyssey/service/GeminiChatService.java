@@ -0,0 +1,155 @@
+package com.universeodyssey.universe_odyssey.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.universeodyssey.universe_odyssey.service.http.Integration;
+import com.universeodyssey.universe_odyssey.service.http.OutboundHttpClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.UncheckedIOException;
+import java.net.http.HttpRequest;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+/**
+ * Cosmos AI planet chat on top of Gemini, as a single response or as a
+ * stream of text chunks. Answers are kept in {@link ChatResponseCache}.
+ */
+@Service
+public class GeminiChatService {
+
+    private static final Logger logger = LoggerFactory.getLogger(GeminiChatService.class);
+
+    private static final String SSE_DATA_PREFIX = "data:";
+
+    private final OutboundHttpClient http;
+    private final ChatResponseCache cache;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final String apiKey;
+    private final String modelUrl;
+
+    public GeminiChatService(OutboundHttpClient http, ChatResponseCache cache,
+            @Value("${gemini.api.key:}") String apiKey,
+            @Value("${gemini.chat.model-url:https://generativelanguage.googleapis.com/v1/models/gemini-2.5-flash}") String modelUrl) {
+        this.http = http;
+        this.cache = cache;
+        this.apiKey = apiKey;
+        this.modelUrl = modelUrl;
+    }
+
+    public boolean isConfigured() {
+        return apiKey != null && !apiKey.isBlank();
+    }
+
+    /**
+     * Full {@code generateContent} response body, as returned by Gemini. A
+     * cached answer is wrapped in the same response shape.
+     */
+    public String chat(String planet, String question) {
+        Optional<String> cached = cache.get(planet, question);
+        if (cached.isPresent())
+            return responseFor(cached.get());
+
+        String url = modelUrl + ":generateContent?key=" + apiKey;
+        logger.info("Sending chat question about {} to Gemini ({} chars)", planet, question.length());
+        String response = http.postJson(Integration.GEMINI, url, payload(planet, question));
+        logger.debug("Gemini chat response: {} chars", response.length());
+        try {
+            cache.put(planet, question, answerText(objectMapper.readTree(response)));
+        } catch (JsonProcessingException e) {
+            logger.warn("Not caching unparseable Gemini response: {}", e.getMessage());
+        }
+        return response;
+    }
+
+    /**
+     * Stream the answer via {@code streamGenerateContent}. Each text chunk is
+     * handed to {@code onText} as soon as Gemini sends it; the future completes
+     * when the answer is finished and can be cancelled to abort it.
+     */
+    public CompletableFuture<Void> streamChat(String planet, String question, Consumer<String> onText) {
+        Optional<String> cached = cache.get(planet, question);
+        if (cached.isPresent()) {
+            onText.accept(cached.get());
+            return CompletableFuture.completedFuture(null);
+        }
+
+        StringBuilder answer = new StringBuilder();
+        String url = modelUrl + ":streamGenerateContent?alt=sse&key=" + apiKey;
+        HttpRequest.Builder request = OutboundHttpClient.request(url)
+                .header("Content-Type", "application/json")
+                .header("Accept", "text/event-stream")
+                .POST(HttpRequest.BodyPublishers.ofString(payload(planet, question)));
+        logger.info("Streaming chat question about {} from Gemini ({} chars)", planet, question.length());
+        CompletableFuture<Void> stream = http.streamLines(Integration.GEMINI, request, line -> {
+            String text = textOfEvent(line);
+            if (text != null && !text.isEmpty()) {
+                answer.append(text);
+                onText.accept(text);
+            }
+        });
+        // only complete answers are cached; a failed consumer fails the stream
+        stream.thenRun(() -> cache.put(planet, question, answer.toString()));
+        return stream;
+    }
+
+    /**
+     * Text carried by one SSE line of a streamGenerateContent response, or null
+     * for blank lines, comments and chunks without text.
+     */
+    String textOfEvent(String line) {
+        if (line == null || !line.startsWith(SSE_DATA_PREFIX))
+            return null;
+        try {
+            return answerText(objectMapper.readTree(line.substring(SSE_DATA_PREFIX.length()).trim()));
+        } catch (JsonProcessingException e) {
+            logger.warn("Skipping unparseable Gemini stream chunk: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private static String answerText(JsonNode response) {
+        StringBuilder text = new StringBuilder();
+        for (JsonNode part : response.path("candidates").path(0).path("content").path("parts"))
+            text.append(part.path("text").asText(""));
+        return text.toString();
+    }
+
+    /**
+     * Minimal generateContent-shaped body around a cached answer.
+     */
+    private String responseFor(String answer) {
+        ObjectNode root = objectMapper.createObjectNode();
+        ObjectNode content = root.putArray("candidates").addObject().putObject("content");
+        content.put("role", "model");
+        content.putArray("parts").addObject().put("text", answer);
+        return root.toString();
+    }
+
+    private String payload(String planet, String question) {
+        // SYSTEM + USER PROMPT
+        String message =
+                "You are Cosmos AI, an intelligent space assistant. " +
+                        "Provide accurate and scientific details ONLY about " + planet + ". " +
+                        "Be friendly but factual.\n\nUser: " + question;
+
+        Map<String, Object> payload = Map.of(
+                "contents", List.of(
+                        Map.of(
+                                "role", "user",
+                                "parts", List.of(Map.of("text", message)))));
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
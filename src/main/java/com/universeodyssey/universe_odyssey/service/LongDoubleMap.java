@@ -0,0 +1,145 @@
+package com.universeodyssey.universe_odyssey.service;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing map from long keys to double values, without boxing.
+ * Linear probing; removal shifts the following run back so no tombstones
+ * are left. Not thread-safe.
+ */
+final class LongDoubleMap {
+
+    interface Visitor {
+        void visit(long key, double value);
+    }
+
+    private static final float LOAD_FACTOR = 0.6f;
+
+    private long[] keys;
+    private double[] values;
+    private boolean[] used;
+    private int size;
+
+    LongDoubleMap(int expected) {
+        int capacity = Integer.highestOneBit(Math.max(16, (int) (expected / LOAD_FACTOR)) - 1) << 1;
+        keys = new long[capacity];
+        values = new double[capacity];
+        used = new boolean[capacity];
+    }
+
+    int size() {
+        return size;
+    }
+
+    double get(long key) {
+        int i = indexOf(key);
+        return i < 0 ? 0 : values[i];
+    }
+
+    /**
+     * Add {@code delta} to the key's value (0 when absent); returns the new value.
+     */
+    double add(long key, double delta) {
+        int mask = keys.length - 1;
+        int i = slot(key, mask);
+        while (used[i]) {
+            if (keys[i] == key)
+                return values[i] += delta;
+            i = (i + 1) & mask;
+        }
+        used[i] = true;
+        keys[i] = key;
+        values[i] = delta;
+        if (++size > keys.length * LOAD_FACTOR)
+            resize();
+        return delta;
+    }
+
+    void remove(long key) {
+        int i = indexOf(key);
+        if (i >= 0)
+            removeAt(i);
+    }
+
+    /**
+     * Multiply every value by {@code factor}.
+     */
+    void scale(double factor) {
+        for (int i = 0; i < values.length; i++) {
+            if (used[i])
+                values[i] *= factor;
+        }
+    }
+
+    /**
+     * Remove entries whose value is below {@code min}.
+     */
+    void removeBelow(double min) {
+        for (int i = 0; i < keys.length;) {
+            if (used[i] && values[i] < min)
+                removeAt(i); // a shifted entry may now be at i; look again
+            else
+                i++;
+        }
+    }
+
+    void forEach(Visitor visitor) {
+        for (int i = 0; i < keys.length; i++) {
+            if (used[i])
+                visitor.visit(keys[i], values[i]);
+        }
+    }
+
+    void clear() {
+        Arrays.fill(used, false);
+        size = 0;
+    }
+
+    private int indexOf(long key) {
+        int mask = keys.length - 1;
+        int i = slot(key, mask);
+        while (used[i]) {
+            if (keys[i] == key)
+                return i;
+            i = (i + 1) & mask;
+        }
+        return -1;
+    }
+
+    private void removeAt(int i) {
+        int mask = keys.length - 1;
+        used[i] = false;
+        size--;
+        // move back any later entry of the run that could live at or before the hole
+        int hole = i;
+        for (int j = (i + 1) & mask; used[j]; j = (j + 1) & mask) {
+            int home = slot(keys[j], mask);
+            if (((j - home) & mask) >= ((j - hole) & mask)) {
+                keys[hole] = keys[j];
+                values[hole] = values[j];
+                used[hole] = true;
+                used[j] = false;
+                hole = j;
+            }
+        }
+    }
+
+    private void resize() {
+        long[] oldKeys = keys;
+        double[] oldValues = values;
+        boolean[] oldUsed = used;
+        keys = new long[oldKeys.length * 2];
+        values = new double[oldKeys.length * 2];
+        used = new boolean[oldKeys.length * 2];
+        size = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldUsed[i])
+                add(oldKeys[i], oldValues[i]);
+        }
+    }
+
+    private static int slot(long key, int mask) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+}
@@ -0,0 +1,106 @@
+package com.universeodyssey.universe_odyssey.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.universeodyssey.universe_odyssey.model.NewsArticle;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * First feed slice for every (source, category) filter and the latest news,
+ * serialized to JSON ahead of time. News only changes when the aggregator
+ * runs, so it calls {@link #rebuild} after each ingest and the snapshot is
+ * swapped in whole. Until the first rebuild every lookup misses.
+ */
+@Component
+public class NewsFeedCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(NewsFeedCache.class);
+
+    public static final int FEED_SIZE = 20;
+    public static final int LATEST_SIZE = 5;
+
+    private final NewsService newsService;
+    private final ObjectMapper objectMapper;
+    private volatile Snapshot snapshot;
+
+    public NewsFeedCache(NewsService newsService, ObjectMapper objectMapper) {
+        this.newsService = newsService;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Query and serialize every cached view, then replace the snapshot. On
+     * failure the previous snapshot stays in place.
+     */
+    public void rebuild() {
+        long start = System.nanoTime();
+        try {
+            List<String> sources = new ArrayList<>(newsService.getAvailableSources());
+            sources.add(null);
+            List<String> categories = new ArrayList<>(newsService.getAvailableCategories());
+            categories.add(null);
+
+            Map<String, byte[]> feeds = new HashMap<>();
+            for (String category : categories) {
+                for (String source : sources) {
+                    feeds.put(key(source, category, false), objectMapper.writeValueAsBytes(
+                            newsService.getFeed(null, FEED_SIZE, source, category, false)));
+                }
+                // collapsing only applies without a source filter
+                feeds.put(key(null, category, true), objectMapper.writeValueAsBytes(
+                        newsService.getFeed(null, FEED_SIZE, null, category, true)));
+            }
+            List<NewsArticle> latest = List.copyOf(newsService.getLatestNews(LATEST_SIZE));
+            snapshot = new Snapshot(feeds, latest, objectMapper.writeValueAsBytes(latest));
+            logger.info("Rebuilt news feed cache: {} feeds in {} ms", feeds.size(),
+                    (System.nanoTime() - start) / 1_000_000);
+        } catch (JsonProcessingException | RuntimeException e) {
+            logger.error("Failed to rebuild news feed cache, keeping the previous one: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Serialized {@link com.universeodyssey.universe_odyssey.dto.NewsFeedResponse}
+     * for the first {@link #FEED_SIZE} articles, if cached.
+     */
+    public Optional<byte[]> firstFeedSlice(String source, String category, boolean collapse) {
+        Snapshot current = snapshot;
+        if (current == null)
+            return Optional.empty();
+        return Optional.ofNullable(current.feeds.get(key(source, category, collapse && source == null)));
+    }
+
+    public Optional<List<NewsArticle>> latest() {
+        Snapshot current = snapshot;
+        return current == null ? Optional.empty() : Optional.of(current.latest);
+    }
+
+    public Optional<byte[]> latestJson() {
+        Snapshot current = snapshot;
+        return current == null ? Optional.empty() : Optional.of(current.latestJson);
+    }
+
+    private static String key(String source, String category, boolean collapse) {
+        return source + "\u0000" + category + "\u0000" + collapse;
+    }
+
+    private static final class Snapshot {
+        final Map<String, byte[]> feeds;
+        final List<NewsArticle> latest;
+        final byte[] latestJson;
+
+        Snapshot(Map<String, byte[]> feeds, List<NewsArticle> latest, byte[] latestJson) {
+            this.feeds = feeds;
+            this.latest = latest;
+            this.latestJson = latestJson;
+        }
+    }
+}
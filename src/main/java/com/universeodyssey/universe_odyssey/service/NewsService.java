@@ -1,16 +1,24 @@
 package com.universeodyssey.universe_odyssey.service;
 
+import com.universeodyssey.universe_odyssey.dto.NewsFeedResponse;
 import com.universeodyssey.universe_odyssey.model.NewsArticle;
 import com.universeodyssey.universe_odyssey.repository.NewsArticleRepository;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 public class NewsService {
@@ -26,6 +34,84 @@ public class NewsService {
         return newsRepository.findAllByOrderByPublishedDateDesc(pageable);
     }
 
+    /**
+     * Like {@link #getAllNews}, with each story cluster collapsed into its
+     * first article; the other sources are listed in alsoReportedBy.
+     */
+    public Page<NewsArticle> getStories(int page, int size) {
+        return withOtherSources(newsRepository.findStoriesOrderByPublishedDateDesc(PageRequest.of(page, size)));
+    }
+
+    public Page<NewsArticle> getStoriesByCategory(String category, int page, int size) {
+        return withOtherSources(
+                newsRepository.findStoriesByCategoryOrderByPublishedDateDesc(category, PageRequest.of(page, size)));
+    }
+
+    /**
+     * Keyset feed: up to {@code size} articles after {@code cursor} (null for
+     * the newest), newest first. Costs the same at any depth since it seeks on
+     * (publishedDate, id) instead of counting and skipping rows.
+     *
+     * @throws IllegalArgumentException for a malformed cursor
+     */
+    public NewsFeedResponse getFeed(String cursor, int size, String source, String category, boolean collapse) {
+        FeedCursor after = FeedCursor.decode(cursor);
+        LocalDateTime date = after.getTimestamp();
+        long id = after.getId();
+        // one extra row tells whether another slice follows
+        Limit limit = Limit.of(size + 1);
+
+        List<NewsArticle> rows;
+        boolean stories = collapse && source == null;
+        if (stories) {
+            rows = category != null
+                    ? newsRepository.findStoryFeedByCategoryAfter(category, date, id, limit)
+                    : newsRepository.findStoryFeedAfter(date, id, limit);
+        } else if (source != null && category != null) {
+            rows = newsRepository.findFeedBySourceAndCategoryAfter(source, category, date, id, limit);
+        } else if (source != null) {
+            rows = newsRepository.findFeedBySourceAfter(source, date, id, limit);
+        } else if (category != null) {
+            rows = newsRepository.findFeedByCategoryAfter(category, date, id, limit);
+        } else {
+            rows = newsRepository.findFeedAfter(date, id, limit);
+        }
+
+        String next = null;
+        if (rows.size() > size) {
+            rows = rows.subList(0, size);
+            NewsArticle last = rows.get(size - 1);
+            next = new FeedCursor(last.getPublishedDate(), last.getId()).encode();
+        }
+        if (stories)
+            withOtherSources(rows);
+        return new NewsFeedResponse(rows, next);
+    }
+
+    private Page<NewsArticle> withOtherSources(Page<NewsArticle> stories) {
+        withOtherSources(stories.getContent());
+        return stories;
+    }
+
+    private void withOtherSources(List<NewsArticle> stories) {
+        List<Long> clusters = stories.stream()
+                .map(NewsArticle::getClusterHash)
+                .filter(Objects::nonNull)
+                .toList();
+        if (clusters.isEmpty())
+            return;
+        Map<Long, Set<String>> sources = new HashMap<>();
+        for (Object[] row : newsRepository.findClusterMemberSources(clusters))
+            sources.computeIfAbsent((Long) row[0], k -> new LinkedHashSet<>()).add((String) row[1]);
+        for (NewsArticle story : stories) {
+            Set<String> others = sources.get(story.getClusterHash());
+            if (others != null) {
+                others.remove(story.getSource());
+                story.setAlsoReportedBy(List.copyOf(others));
+            }
+        }
+    }
+
     public Page<NewsArticle> getNewsBySource(String source, int page, int size) {
         Pageable pageable = PageRequest.of(page, size);
         return newsRepository.findBySourceOrderByPublishedDateDesc(source, pageable);
@@ -0,0 +1,12 @@
+package com.universeodyssey.universe_odyssey.service.http;
+
+/**
+ * The integration's bulkhead was full, so no request was sent. Says nothing
+ * about the upstream; callers may retry later.
+ */
+public class BulkheadRejectedException extends OutboundHttpException {
+
+    public BulkheadRejectedException(Integration integration) {
+        super(integration, "too many concurrent calls", null);
+    }
+}
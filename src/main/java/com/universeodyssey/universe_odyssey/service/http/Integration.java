@@ -0,0 +1,44 @@
+package com.universeodyssey.universe_odyssey.service.http;
+
+/**
+ * Outbound integrations, each with its own bulkhead and deadlines.
+ * Defaults can be overridden with {@code http.<key>.max-concurrent},
+ * {@code http.<key>.read-timeout-ms} and {@code http.<key>.total-timeout-ms}.
+ */
+public enum Integration {
+    GEMINI("gemini", 16, 30000, 60000),
+    NASA("nasa", 8, 8000, 15000),
+    JPL("jpl", 8, 8000, 15000),
+    ESA("esa", 4, 8000, 15000),
+    ISRO("isro", 4, 10000, 20000),
+    SPACEFLIGHT("spaceflight", 8, 8000, 15000),
+    NEWS_IMAGES("news-images", 8, 8000, 20000);
+
+    private final String key;
+    private final int defaultMaxConcurrent;
+    private final long defaultReadTimeoutMs;
+    private final long defaultTotalTimeoutMs;
+
+    Integration(String key, int defaultMaxConcurrent, long defaultReadTimeoutMs, long defaultTotalTimeoutMs) {
+        this.key = key;
+        this.defaultMaxConcurrent = defaultMaxConcurrent;
+        this.defaultReadTimeoutMs = defaultReadTimeoutMs;
+        this.defaultTotalTimeoutMs = defaultTotalTimeoutMs;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public int getDefaultMaxConcurrent() {
+        return defaultMaxConcurrent;
+    }
+
+    public long getDefaultReadTimeoutMs() {
+        return defaultReadTimeoutMs;
+    }
+
+    public long getDefaultTotalTimeoutMs() {
+        return defaultTotalTimeoutMs;
+    }
+}
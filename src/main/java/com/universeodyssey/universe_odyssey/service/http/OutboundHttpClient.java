@@ -0,0 +1,258 @@
+package com.universeodyssey.universe_odyssey.service.http;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Service;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Flow;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * The one way out to third-party APIs.
+ *
+ * All calls share a single JDK {@link HttpClient} (keep-alive connection pool
+ * per host, HTTP/2 where the server supports it). Each {@link Integration}
+ * gets a semaphore bulkhead, a read deadline (until response headers) and a
+ * total deadline (including the body), so a hung upstream fails its own
+ * callers quickly instead of pinning request threads.
+ */
+@Service
+public class OutboundHttpClient {
+    private static final Logger log = LoggerFactory.getLogger(OutboundHttpClient.class);
+
+    public static final String USER_AGENT = "Mozilla/5.0 (compatible; UniverseOdyssey/1.0)";
+
+    private final HttpClient httpClient;
+    private final long bulkheadWaitMs;
+    private final Map<Integration, Limits> limits = new EnumMap<>(Integration.class);
+
+    public OutboundHttpClient(HttpClient httpClient, Environment env,
+            @Value("${http.bulkhead.wait-ms:250}") long bulkheadWaitMs) {
+        this.httpClient = httpClient;
+        this.bulkheadWaitMs = bulkheadWaitMs;
+        for (Integration integration : Integration.values()) {
+            String prefix = "http." + integration.getKey() + ".";
+            limits.put(integration, new Limits(
+                    env.getProperty(prefix + "max-concurrent", Integer.class, integration.getDefaultMaxConcurrent()),
+                    env.getProperty(prefix + "read-timeout-ms", Long.class, integration.getDefaultReadTimeoutMs()),
+                    env.getProperty(prefix + "total-timeout-ms", Long.class, integration.getDefaultTotalTimeoutMs())));
+        }
+    }
+
+    /**
+     * Request builder with the shared User-Agent.
+     */
+    public static HttpRequest.Builder request(String url) {
+        return HttpRequest.newBuilder(URI.create(url)).header("User-Agent", USER_AGENT);
+    }
+
+    /**
+     * Send through the integration's bulkhead and deadlines. Any status is
+     * returned; failures to get a response throw {@link OutboundHttpException}.
+     */
+    public <T> HttpResponse<T> send(Integration integration, HttpRequest.Builder request,
+            HttpResponse.BodyHandler<T> bodyHandler) {
+        Limits l = limits.get(integration);
+        try {
+            if (!l.bulkhead.tryAcquire(bulkheadWaitMs, TimeUnit.MILLISECONDS)) {
+                log.warn("Rejected {} call: {} calls already in flight", integration.getKey(), l.maxConcurrent);
+                throw new BulkheadRejectedException(integration);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new OutboundHttpException(integration, "interrupted", e);
+        }
+
+        CompletableFuture<HttpResponse<T>> call = null;
+        try {
+            call = httpClient.sendAsync(request.timeout(l.readTimeout).build(), bodyHandler);
+            return call.get(l.totalTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            call.cancel(true);
+            throw new OutboundHttpException(integration, "no complete response within " + l.totalTimeoutMs + " ms", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            throw new OutboundHttpException(integration, String.valueOf(cause.getMessage()), cause);
+        } catch (InterruptedException e) {
+            if (call != null)
+                call.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new OutboundHttpException(integration, "interrupted", e);
+        } finally {
+            l.bulkhead.release();
+        }
+    }
+
+    /**
+     * Send and push the 2xx response body to {@code onLine} one line at a time
+     * as it arrives. No thread waits on the exchange; the bulkhead permit is
+     * held until the body ends, fails, the consumer throws, or the total
+     * deadline cancels it. A consumer failure fails the returned future with
+     * that error; cancelling the returned future aborts the exchange.
+     */
+    public CompletableFuture<Void> streamLines(Integration integration, HttpRequest.Builder request,
+            Consumer<String> onLine) {
+        Limits l = limits.get(integration);
+        try {
+            if (!l.bulkhead.tryAcquire(bulkheadWaitMs, TimeUnit.MILLISECONDS)) {
+                log.warn("Rejected {} stream: {} calls already in flight", integration.getKey(), l.maxConcurrent);
+                return CompletableFuture.failedFuture(new BulkheadRejectedException(integration));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return CompletableFuture.failedFuture(new OutboundHttpException(integration, "interrupted", e));
+        }
+
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        AtomicBoolean released = new AtomicBoolean();
+        // first of body end, body error, consumer failure or call failure settles the stream
+        Consumer<Throwable> finish = ex -> {
+            if (released.compareAndSet(false, true))
+                l.bulkhead.release();
+            if (ex == null) {
+                result.complete(null);
+                return;
+            }
+            Throwable cause = ex instanceof CompletionException && ex.getCause() != null
+                    ? ex.getCause() : ex;
+            result.completeExceptionally(cause instanceof OutboundHttpException ? cause
+                    : new OutboundHttpException(integration, String.valueOf(cause.getMessage()), cause));
+        };
+
+        HttpResponse.BodyHandler<Void> handler = info -> {
+            int status = info.statusCode();
+            if (status >= 200 && status < 300)
+                return HttpResponse.BodySubscribers.fromLineSubscriber(new LineForwarder(onLine, finish), s -> null,
+                        StandardCharsets.UTF_8, null);
+            return HttpResponse.BodySubscribers.mapping(HttpResponse.BodySubscribers.ofString(StandardCharsets.UTF_8),
+                    body -> {
+                        throw new OutboundHttpException(integration, "HTTP " + status + " Body: " + body, status, null);
+                    });
+        };
+
+        CompletableFuture<HttpResponse<Void>> call = httpClient.sendAsync(request.timeout(l.readTimeout).build(), handler);
+        CompletableFuture.delayedExecutor(l.totalTimeoutMs, TimeUnit.MILLISECONDS).execute(() -> call.cancel(true));
+
+        call.whenComplete((response, ex) -> finish.accept(ex));
+        // abort the exchange when the caller cancels or the consumer gave up
+        result.whenComplete((v, ex) -> {
+            if (ex != null)
+                call.cancel(true);
+        });
+        return result;
+    }
+
+    /**
+     * Size of the integration's bulkhead.
+     */
+    public int maxConcurrent(Integration integration) {
+        return limits.get(integration).maxConcurrent;
+    }
+
+    public String getString(Integration integration, String url) {
+        return requireSuccess(integration, send(integration, request(url).GET(), HttpResponse.BodyHandlers.ofString()))
+                .body();
+    }
+
+    public byte[] getBytes(Integration integration, String url) {
+        return requireSuccess(integration, send(integration, request(url).GET(), HttpResponse.BodyHandlers.ofByteArray()))
+                .body();
+    }
+
+    public String postJson(Integration integration, String url, String json) {
+        HttpRequest.Builder request = request(url)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json));
+        return requireSuccess(integration, send(integration, request, HttpResponse.BodyHandlers.ofString())).body();
+    }
+
+    private static <T> HttpResponse<T> requireSuccess(Integration integration, HttpResponse<T> response) {
+        int status = response.statusCode();
+        if (status < 200 || status >= 300) {
+            Object body = response.body();
+            String detail = body instanceof String s ? " Body: " + s : "";
+            throw new OutboundHttpException(integration, "HTTP " + status + detail, status, null);
+        }
+        return response;
+    }
+
+    /**
+     * Hands each line to the consumer and reports how the body ended. A
+     * consumer failure (e.g. the browser went away) cancels the upstream
+     * subscription and settles the stream at once.
+     */
+    private static final class LineForwarder implements Flow.Subscriber<String> {
+        private final Consumer<String> onLine;
+        private final Consumer<Throwable> finish;
+        private Flow.Subscription subscription;
+        private boolean cancelled;
+
+        LineForwarder(Consumer<String> onLine, Consumer<Throwable> finish) {
+            this.onLine = onLine;
+            this.finish = finish;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(String line) {
+            if (cancelled)
+                return;
+            try {
+                onLine.accept(line);
+            } catch (RuntimeException e) {
+                log.debug("Stream consumer failed, cancelling: {}", e.getMessage());
+                cancelled = true;
+                subscription.cancel();
+                finish.accept(e);
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            if (!cancelled)
+                finish.accept(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            if (!cancelled)
+                finish.accept(null);
+        }
+    }
+
+    private static final class Limits {
+        final int maxConcurrent;
+        final Semaphore bulkhead;
+        final Duration readTimeout;
+        final long totalTimeoutMs;
+
+        Limits(int maxConcurrent, long readTimeoutMs, long totalTimeoutMs) {
+            this.maxConcurrent = maxConcurrent;
+            this.bulkhead = new Semaphore(maxConcurrent);
+            this.readTimeout = Duration.ofMillis(readTimeoutMs);
+            this.totalTimeoutMs = totalTimeoutMs;
+        }
+    }
+}
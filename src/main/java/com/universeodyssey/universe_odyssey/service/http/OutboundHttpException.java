@@ -0,0 +1,28 @@
+package com.universeodyssey.universe_odyssey.service.http;
+
+/**
+ * Failed outbound call: timeout, rejected by the bulkhead, I/O error or a
+ * non-2xx status ({@link #getStatus()} is 0 when no response was received).
+ */
+public class OutboundHttpException extends RuntimeException {
+    private final Integration integration;
+    private final int status;
+
+    public OutboundHttpException(Integration integration, String message, int status, Throwable cause) {
+        super(integration.getKey() + ": " + message, cause);
+        this.integration = integration;
+        this.status = status;
+    }
+
+    public OutboundHttpException(Integration integration, String message, Throwable cause) {
+        this(integration, message, 0, cause);
+    }
+
+    public Integration getIntegration() {
+        return integration;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+}
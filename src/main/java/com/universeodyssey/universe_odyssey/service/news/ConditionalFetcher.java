@@ -0,0 +1,172 @@
+package com.universeodyssey.universe_odyssey.service.news;
+
+import com.universeodyssey.universe_odyssey.model.NewsFetchState;
+import com.universeodyssey.universe_odyssey.repository.NewsFetchStateRepository;
+import com.universeodyssey.universe_odyssey.service.http.Integration;
+import com.universeodyssey.universe_odyssey.service.http.OutboundHttpClient;
+import com.universeodyssey.universe_odyssey.service.http.OutboundHttpException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Fetches news source documents only when they changed since the last
+ * successful run, using the per-source {@link NewsFetchState}.
+ *
+ * Sends If-None-Match / If-Modified-Since when the server gave us validators,
+ * and also compares a SHA-256 of the body so servers without validators
+ * still skip parsing when nothing changed. Clients stage the new state in
+ * the {@link Staged} of their own fetch after parsing, and the aggregator
+ * persists it with {@link #commit} only for sources that finished in time
+ * and only once the articles are saved, so a failed or abandoned fetch is
+ * done again in full.
+ */
+@Component
+public class ConditionalFetcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConditionalFetcher.class);
+
+    private final OutboundHttpClient http;
+    private final NewsFetchStateRepository stateRepository;
+
+    public ConditionalFetcher(OutboundHttpClient http, NewsFetchStateRepository stateRepository) {
+        this.http = http;
+        this.stateRepository = stateRepository;
+    }
+
+    /**
+     * @return the new body, or empty when the source has not changed
+     */
+    public Optional<Fetched> fetch(String sourceKey, Integration integration, String url) {
+        NewsFetchState state = state(sourceKey);
+        HttpRequest.Builder request = OutboundHttpClient.request(url).GET();
+        if (state.getEtag() != null)
+            request.header("If-None-Match", state.getEtag());
+        if (state.getLastModified() != null)
+            request.header("If-Modified-Since", state.getLastModified());
+
+        HttpResponse<byte[]> response = http.send(integration, request, HttpResponse.BodyHandlers.ofByteArray());
+        int status = response.statusCode();
+        if (status == 304) {
+            logger.info("{} not modified since last fetch", sourceKey);
+            return Optional.empty();
+        }
+        if (status < 200 || status >= 300)
+            throw new OutboundHttpException(integration, "HTTP " + status, status, null);
+
+        String etag = response.headers().firstValue("ETag").orElse(null);
+        String lastModified = response.headers().firstValue("Last-Modified").orElse(null);
+        String hash = sha256(response.body());
+        if (hash.equals(state.getContentHash())) {
+            logger.info("{} content unchanged since last fetch", sourceKey);
+            // keep fresh validators so the next request can be conditional
+            if (!Objects.equals(etag, state.getEtag())
+                    || !Objects.equals(lastModified, state.getLastModified())) {
+                state.setEtag(etag);
+                state.setLastModified(lastModified);
+                stateRepository.save(state);
+            }
+            return Optional.empty();
+        }
+        return Optional.of(new Fetched(sourceKey, response.body(), etag, lastModified, hash));
+    }
+
+    public Optional<LocalDateTime> lastPublished(String sourceKey) {
+        return stateRepository.findById(sourceKey).map(NewsFetchState::getLastPublishedAt);
+    }
+
+    /**
+     * Persist the state staged by fetches whose articles were saved.
+     */
+    public void commit(Collection<Staged> staged) {
+        for (Staged s : staged) {
+            for (Fetched fetched : s.bodies.values()) {
+                NewsFetchState state = state(fetched.sourceKey);
+                state.setEtag(fetched.etag);
+                state.setLastModified(fetched.lastModified);
+                state.setContentHash(fetched.contentHash);
+                stateRepository.save(state);
+            }
+            for (Map.Entry<String, LocalDateTime> e : s.published.entrySet()) {
+                NewsFetchState state = state(e.getKey());
+                if (state.getLastPublishedAt() == null || e.getValue().isAfter(state.getLastPublishedAt())) {
+                    state.setLastPublishedAt(e.getValue());
+                    stateRepository.save(state);
+                }
+            }
+        }
+    }
+
+    private NewsFetchState state(String sourceKey) {
+        return stateRepository.findById(sourceKey).orElseGet(() -> new NewsFetchState(sourceKey));
+    }
+
+    private static String sha256(byte[] body) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(body));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Fetch state one source produced during a run. Filled by the source's
+     * own task and handed back with its articles; a task abandoned at its
+     * deadline keeps its Staged to itself.
+     */
+    public static final class Staged {
+        private final Map<String, Fetched> bodies = new HashMap<>();
+        private final Map<String, LocalDateTime> published = new HashMap<>();
+
+        /**
+         * Stage a fetched body as processed.
+         */
+        public void markProcessed(Fetched fetched) {
+            bodies.put(fetched.sourceKey, fetched);
+        }
+
+        /**
+         * Stage the newest published timestamp seen for an incremental source.
+         */
+        public void recordPublished(String sourceKey, LocalDateTime latest) {
+            published.merge(sourceKey, latest, (a, b) -> a.isAfter(b) ? a : b);
+        }
+    }
+
+    public static final class Fetched {
+        private final String sourceKey;
+        private final byte[] body;
+        private final String etag;
+        private final String lastModified;
+        private final String contentHash;
+
+        Fetched(String sourceKey, byte[] body, String etag, String lastModified, String contentHash) {
+            this.sourceKey = sourceKey;
+            this.body = body;
+            this.etag = etag;
+            this.lastModified = lastModified;
+            this.contentHash = contentHash;
+        }
+
+        public byte[] getBody() {
+            return body;
+        }
+
+        public String getBodyAsString() {
+            return new String(body, StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -1,60 +1,62 @@
 package com.universeodyssey.universe_odyssey.service.news;
 
-import com.rometools.rome.feed.synd.SyndEntry;
-import com.rometools.rome.feed.synd.SyndFeed;
-import com.rometools.rome.io.SyndFeedInput;
-import com.rometools.rome.io.XmlReader;
 import com.universeodyssey.universe_odyssey.model.NewsArticle;
-import org.jsoup.Jsoup;
-import org.jsoup.nodes.Document;
-import org.jsoup.nodes.Element;
+import com.universeodyssey.universe_odyssey.service.http.Integration;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.net.URL;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.ByteArrayInputStream;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 
 @Service
 public class EsaRssFeedClient {
 
     private static final Logger logger = LoggerFactory.getLogger(EsaRssFeedClient.class);
 
+    private static final int SUMMARY_CHARS = 1000;
+
     @Value("${news.esa.rss.url:https://www.esa.int/rssfeed/Our_Activities/Space_News}")
     private String rssUrl;
 
     @Value("${news.fetch.limit:50}")
     private int fetchLimit;
 
-    public List<NewsArticle> fetchEsaNews() {
+    private final ConditionalFetcher fetcher;
+    private final XMLInputFactory xmlInputFactory;
+
+    public EsaRssFeedClient(ConditionalFetcher fetcher) {
+        this.fetcher = fetcher;
+        this.xmlInputFactory = XMLInputFactory.newFactory();
+        // the feed is remote input: no DTDs or external entities
+        xmlInputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        xmlInputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+    }
+
+    public List<NewsArticle> fetchEsaNews(ConditionalFetcher.Staged staged) {
         List<NewsArticle> articles = new ArrayList<>();
 
         try {
             logger.info("Fetching ESA RSS feed: {}", rssUrl);
 
-            SyndFeedInput input = new SyndFeedInput();
-            SyndFeed feed = input.build(new XmlReader(new URL(rssUrl)));
-
-            List<SyndEntry> entries = feed.getEntries();
-            int count = 0;
-
-            for (SyndEntry entry : entries) {
-                if (count >= fetchLimit)
-                    break;
-
-                try {
-                    NewsArticle article = mapRssEntryToNewsArticle(entry);
-                    articles.add(article);
-                    count++;
-                } catch (Exception e) {
-                    logger.error("Error mapping RSS entry: {}", e.getMessage());
-                }
-            }
+            Optional<ConditionalFetcher.Fetched> fetched = fetcher.fetch("esa", Integration.ESA, rssUrl);
+            if (fetched.isEmpty())
+                return articles;
+            articles = parseFeed(fetched.get().getBody());
 
+            staged.markProcessed(fetched.get());
             logger.info("Successfully fetched {} articles from ESA RSS feed", articles.size());
         } catch (Exception e) {
             logger.error("Error fetching ESA RSS feed: {}", e.getMessage(), e);
@@ -63,26 +65,75 @@ public class EsaRssFeedClient {
         return articles;
     }
 
-    private NewsArticle mapRssEntryToNewsArticle(SyndEntry entry) {
+    /**
+     * Read RSS items with StAX, stopping once {@code news.fetch.limit} articles
+     * have been mapped; the rest of the document is never parsed.
+     */
+    List<NewsArticle> parseFeed(byte[] xml) throws XMLStreamException {
+        List<NewsArticle> articles = new ArrayList<>();
+        XMLStreamReader reader = xmlInputFactory.createXMLStreamReader(new ByteArrayInputStream(xml));
+        try {
+            boolean inItem = false;
+            String title = null, link = null, description = null, pubDate = null;
+            while (reader.hasNext() && articles.size() < fetchLimit) {
+                int event = reader.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    String name = reader.getLocalName();
+                    if (name.equals("item")) {
+                        inItem = true;
+                        title = link = description = pubDate = null;
+                    } else if (inItem && isRssElement(reader)) {
+                        switch (name) {
+                            case "title" -> title = reader.getElementText();
+                            case "link" -> link = reader.getElementText();
+                            case "description" -> description = reader.getElementText();
+                            case "pubDate" -> pubDate = reader.getElementText();
+                            default -> {
+                            }
+                        }
+                    }
+                } else if (event == XMLStreamConstants.END_ELEMENT && inItem && reader.getLocalName().equals("item")) {
+                    inItem = false;
+                    try {
+                        articles.add(mapRssItemToNewsArticle(title, link, description, pubDate));
+                    } catch (Exception e) {
+                        logger.error("Error mapping RSS entry: {}", e.getMessage());
+                    }
+                }
+            }
+        } finally {
+            reader.close();
+        }
+        return articles;
+    }
+
+    // media:title and the like share local names with RSS elements
+    private static boolean isRssElement(XMLStreamReader reader) {
+        String ns = reader.getNamespaceURI();
+        return ns == null || ns.isEmpty();
+    }
+
+    private NewsArticle mapRssItemToNewsArticle(String title, String link, String description, String pubDate) {
         NewsArticle article = new NewsArticle();
 
-        article.setTitle(entry.getTitle());
-        article.setSummary(extractPlainText(entry.getDescription().getValue()));
-        article.setContent(entry.getDescription().getValue());
-        article.setOriginalUrl(entry.getLink());
+        article.setTitle(title != null ? title.trim() : null);
+        article.setOriginalUrl(link != null ? link.trim() : null);
+        article.setContent(description);
         article.setSource("ESA");
 
-        // Extract image from description HTML
-        String imageUrl = extractImageFromHtml(entry.getDescription().getValue());
+        // Summary text and image come from one pass over the description HTML
+        HtmlScanner.Extract extract = HtmlScanner.extract(description, SUMMARY_CHARS);
+        article.setSummary(extract.truncated ? extract.text + "..." : extract.text);
+        String imageUrl = extract.firstImage;
+        if (imageUrl == null) {
+            imageUrl = "";
+        } else if (imageUrl.startsWith("/")) {
+            // Make sure URL is absolute
+            imageUrl = "https://www.esa.int" + imageUrl;
+        }
         article.setImageUrl(imageUrl);
 
-        // Parse published date
-        if (entry.getPublishedDate() != null) {
-            article.setPublishedDate(
-                    LocalDateTime.ofInstant(entry.getPublishedDate().toInstant(), ZoneId.systemDefault()));
-        } else {
-            article.setPublishedDate(LocalDateTime.now());
-        }
+        article.setPublishedDate(parsePubDate(pubDate));
 
         // Determine category
         article.setCategory(determineCategory(article.getTitle(), article.getSummary()));
@@ -90,34 +141,16 @@ public class EsaRssFeedClient {
         return article;
     }
 
-    private String extractPlainText(String html) {
-        if (html == null)
-            return "";
-        Document doc = Jsoup.parse(html);
-        String text = doc.text();
-        return text.length() > 1000 ? text.substring(0, 1000) + "..." : text;
-    }
-
-    private String extractImageFromHtml(String html) {
-        if (html == null)
-            return "";
-
-        try {
-            Document doc = Jsoup.parse(html);
-            Element img = doc.select("img").first();
-            if (img != null) {
-                String src = img.attr("src");
-                // Make sure URL is absolute
-                if (src.startsWith("/")) {
-                    return "https://www.esa.int" + src;
-                }
-                return src;
+    private static LocalDateTime parsePubDate(String pubDate) {
+        if (pubDate != null) {
+            try {
+                ZonedDateTime published = ZonedDateTime.parse(pubDate.trim(), DateTimeFormatter.RFC_1123_DATE_TIME);
+                return LocalDateTime.ofInstant(published.toInstant(), ZoneId.systemDefault());
+            } catch (DateTimeParseException e) {
+                logger.debug("Unparseable ESA pubDate: {}", pubDate);
             }
-        } catch (Exception e) {
-            logger.error("Error extracting image from HTML: {}", e.getMessage());
         }
-
-        return "";
+        return LocalDateTime.now();
     }
 
     private String determineCategory(String title, String summary) {
@@ -0,0 +1,222 @@
+package com.universeodyssey.universe_odyssey.service.news;
+
+import org.jsoup.parser.Parser;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Forward-only HTML tokenizer for the news clients. Reports start tags (with
+ * attributes), end tags and entity-decoded text in document order without
+ * building a tree, and stops as soon as the handler returns false. Comments,
+ * doctypes and script/style bodies are skipped; malformed markup is tolerated
+ * rather than repaired.
+ */
+final class HtmlScanner {
+
+    private static final Set<String> RAW_TEXT = Set.of("script", "style");
+    private static final Set<String> BREAKS = Set.of("p", "br", "div", "li", "tr", "td", "h1", "h2", "h3", "h4",
+            "h5", "h6", "blockquote", "figcaption");
+
+    private HtmlScanner() {
+    }
+
+    interface Handler {
+        default boolean startTag(String name, Map<String, String> attributes) {
+            return true;
+        }
+
+        default boolean endTag(String name) {
+            return true;
+        }
+
+        default boolean text(String text) {
+            return true;
+        }
+    }
+
+    /**
+     * Plain text and first image of an HTML fragment, taken in one pass.
+     */
+    static final class Extract {
+        final String text;
+        final String firstImage;
+        final boolean truncated;
+
+        Extract(String text, String firstImage, boolean truncated) {
+            this.text = text;
+            this.firstImage = firstImage;
+            this.truncated = truncated;
+        }
+    }
+
+    /**
+     * Text (whitespace collapsed, at most {@code maxChars}) and the first
+     * {@code <img src>} of {@code html}. Scanning stops once both are known.
+     */
+    static Extract extract(String html, int maxChars) {
+        if (html == null)
+            return new Extract("", null, false);
+        StringBuilder text = new StringBuilder();
+        String[] image = new String[1];
+        boolean[] truncated = new boolean[1];
+        scan(html, new Handler() {
+            @Override
+            public boolean startTag(String name, Map<String, String> attributes) {
+                if (image[0] == null && name.equals("img") && attributes.get("src") != null)
+                    image[0] = attributes.get("src");
+                if (BREAKS.contains(name))
+                    appendText(text, " ", maxChars);
+                return !(truncated[0] && image[0] != null);
+            }
+
+            @Override
+            public boolean text(String t) {
+                if (!truncated[0])
+                    truncated[0] = !appendText(text, t, maxChars);
+                return !(truncated[0] && image[0] != null);
+            }
+        });
+        return new Extract(text.toString().trim(), image[0], truncated[0]);
+    }
+
+    /**
+     * Append with runs of whitespace collapsed to one space; false once the
+     * limit is reached.
+     */
+    private static boolean appendText(StringBuilder out, String text, int maxChars) {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isWhitespace(c) || c == '\u00a0') {
+                if (out.length() > 0 && out.charAt(out.length() - 1) != ' ')
+                    out.append(' ');
+            } else {
+                out.append(c);
+            }
+            if (out.length() >= maxChars)
+                return false;
+        }
+        return true;
+    }
+
+    static void scan(String html, Handler handler) {
+        int n = html.length();
+        int i = 0;
+        while (i < n) {
+            int lt = html.indexOf('<', i);
+            int textEnd = lt < 0 ? n : lt;
+            if (textEnd > i && !handler.text(Parser.unescapeEntities(html.substring(i, textEnd), false)))
+                return;
+            if (lt < 0)
+                return;
+
+            if (html.startsWith("<!--", lt)) {
+                int end = html.indexOf("-->", lt + 4);
+                i = end < 0 ? n : end + 3;
+                continue;
+            }
+            if (lt + 1 < n && (html.charAt(lt + 1) == '!' || html.charAt(lt + 1) == '?')) {
+                int end = html.indexOf('>', lt);
+                i = end < 0 ? n : end + 1;
+                continue;
+            }
+
+            boolean closing = lt + 1 < n && html.charAt(lt + 1) == '/';
+            int nameStart = lt + (closing ? 2 : 1);
+            int nameEnd = nameStart;
+            while (nameEnd < n && (Character.isLetterOrDigit(html.charAt(nameEnd)) || html.charAt(nameEnd) == '-'))
+                nameEnd++;
+            int end = tagEnd(html, nameEnd);
+            if (nameEnd == nameStart || end < 0) {
+                // a bare '<' is text
+                if (!handler.text("<"))
+                    return;
+                i = lt + 1;
+                continue;
+            }
+
+            String name = html.substring(nameStart, nameEnd).toLowerCase(Locale.ROOT);
+            i = end + 1;
+            if (closing) {
+                if (!handler.endTag(name))
+                    return;
+                continue;
+            }
+            if (!handler.startTag(name, attributes(html, nameEnd, end)))
+                return;
+            if (RAW_TEXT.contains(name)) {
+                int close = indexOfIgnoreCase(html, "</" + name, i);
+                i = close < 0 ? n : close;
+            }
+        }
+    }
+
+    /**
+     * Index of the '>' closing a tag, skipping quoted attribute values.
+     */
+    private static int tagEnd(String html, int from) {
+        char quote = 0;
+        for (int i = from; i < html.length(); i++) {
+            char c = html.charAt(i);
+            if (quote != 0) {
+                if (c == quote)
+                    quote = 0;
+            } else if (c == '"' || c == '\'') {
+                quote = c;
+            } else if (c == '>') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static Map<String, String> attributes(String html, int from, int to) {
+        Map<String, String> attributes = new HashMap<>();
+        int i = from;
+        while (i < to) {
+            while (i < to && (Character.isWhitespace(html.charAt(i)) || html.charAt(i) == '/'))
+                i++;
+            int nameStart = i;
+            while (i < to && html.charAt(i) != '=' && !Character.isWhitespace(html.charAt(i)) && html.charAt(i) != '/')
+                i++;
+            if (i == nameStart) {
+                i++;
+                continue;
+            }
+            String name = html.substring(nameStart, i).toLowerCase(Locale.ROOT);
+            while (i < to && Character.isWhitespace(html.charAt(i)))
+                i++;
+            String value = "";
+            if (i < to && html.charAt(i) == '=') {
+                i++;
+                while (i < to && Character.isWhitespace(html.charAt(i)))
+                    i++;
+                if (i < to && (html.charAt(i) == '"' || html.charAt(i) == '\'')) {
+                    char quote = html.charAt(i);
+                    int close = html.indexOf(quote, i + 1);
+                    if (close < 0 || close > to)
+                        close = to;
+                    value = html.substring(i + 1, close);
+                    i = close + 1;
+                } else {
+                    int start = i;
+                    while (i < to && !Character.isWhitespace(html.charAt(i)))
+                        i++;
+                    value = html.substring(start, i);
+                }
+            }
+            attributes.putIfAbsent(name, Parser.unescapeEntities(value, true));
+        }
+        return attributes;
+    }
+
+    private static int indexOfIgnoreCase(String s, String target, int from) {
+        for (int i = from; i <= s.length() - target.length(); i++) {
+            if (s.regionMatches(true, i, target, 0, target.length()))
+                return i;
+        }
+        return -1;
+    }
+}
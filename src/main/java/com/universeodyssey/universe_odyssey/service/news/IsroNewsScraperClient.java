@@ -3,26 +3,31 @@ package com.universeodyssey.universe_odyssey.service.news;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.universeodyssey.universe_odyssey.model.NewsArticle;
-import org.jsoup.Jsoup;
-import org.jsoup.nodes.Document;
-import org.jsoup.nodes.Element;
-import org.jsoup.select.Elements;
+import com.universeodyssey.universe_odyssey.service.http.Integration;
+import com.universeodyssey.universe_odyssey.service.http.OutboundHttpClient;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 
+import java.net.URI;
 import java.time.LocalDateTime;
 import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 
 @Service
 public class IsroNewsScraperClient {
 
     private static final Logger logger = LoggerFactory.getLogger(IsroNewsScraperClient.class);
 
+    private static final String FALLBACK_STATE_KEY = "isro-fallback";
+
     @Value("${news.isro.url:https://www.isro.gov.in/PressRelease.html}")
     private String isroUrl;
 
@@ -32,94 +37,175 @@ public class IsroNewsScraperClient {
     @Value("${news.fetch.limit:50}")
     private int fetchLimit;
 
-    private final RestTemplate restTemplate;
+    private final OutboundHttpClient http;
+    private final ConditionalFetcher fetcher;
     private final ObjectMapper objectMapper;
 
-    public IsroNewsScraperClient(RestTemplate restTemplate) {
-        this.restTemplate = restTemplate;
+    public IsroNewsScraperClient(OutboundHttpClient http, ConditionalFetcher fetcher) {
+        this.http = http;
+        this.fetcher = fetcher;
         this.objectMapper = new ObjectMapper();
     }
 
-    public List<NewsArticle> fetchIsroNews() {
+    public List<NewsArticle> fetchIsroNews(ConditionalFetcher.Staged staged) {
         List<NewsArticle> articles = new ArrayList<>();
 
         try {
             logger.info("Attempting to scrape ISRO website: {}", isroUrl);
-            articles = scrapeIsroWebsite();
+            Optional<List<NewsArticle>> scraped = scrapeIsroWebsite(staged);
+            if (scraped.isEmpty()) {
+                // page unchanged since the last run; nothing new to parse
+                return articles;
+            }
+            articles = scraped.get();
 
             if (articles.isEmpty()) {
                 logger.warn("Scraping failed or returned no results, falling back to Spaceflight API");
-                articles = fallbackToSpaceflightApi();
+                articles = fallbackToSpaceflightApi(staged);
             } else {
                 logger.info("Successfully scraped {} articles from ISRO website", articles.size());
             }
         } catch (Exception e) {
             logger.error("Error fetching ISRO news, using fallback: {}", e.getMessage());
-            articles = fallbackToSpaceflightApi();
+            articles = fallbackToSpaceflightApi(staged);
         }
 
         return articles;
     }
 
-    private List<NewsArticle> scrapeIsroWebsite() {
+    /**
+     * @return scraped articles, or empty when the page has not changed
+     */
+    private Optional<List<NewsArticle>> scrapeIsroWebsite(ConditionalFetcher.Staged staged) {
         List<NewsArticle> articles = new ArrayList<>();
 
         try {
-            Document doc = Jsoup.connect(isroUrl)
-                    .userAgent("Mozilla/5.0")
-                    .timeout(10000)
-                    .get();
-
-            // ISRO press releases are typically in a table or list
-            Elements pressReleases = doc.select("table tr, .press-release-item, article");
-
-            int count = 0;
-            for (Element release : pressReleases) {
-                if (count >= fetchLimit)
-                    break;
-
-                try {
-                    // Try to extract title and link
-                    Element link = release.select("a").first();
-                    if (link != null) {
-                        String title = link.text().trim();
-                        String url = link.attr("abs:href");
-
-                        if (!title.isEmpty() && !url.isEmpty()) {
-                            NewsArticle article = new NewsArticle();
-                            article.setTitle(title);
-                            article.setSummary(title); // Use title as summary for now
-                            article.setContent(title);
-                            article.setOriginalUrl(url);
-                            article.setSource("ISRO");
-                            article.setCategory(determineCategoryFromTitle(title));
-                            article.setPublishedDate(LocalDateTime.now()); // ISRO doesn't always provide dates
-                            article.setImageUrl(""); // ISRO press releases typically don't have images
-
-                            articles.add(article);
-                            count++;
-                        }
-                    }
-                } catch (Exception e) {
-                    logger.debug("Error parsing ISRO press release element: {}", e.getMessage());
-                }
-            }
+            Optional<ConditionalFetcher.Fetched> fetched = fetcher.fetch("isro", Integration.ISRO, isroUrl);
+            if (fetched.isEmpty())
+                return Optional.empty();
+            articles = parsePressReleases(fetched.get().getBodyAsString(), isroUrl);
+
+            // an unusable page is not remembered, so the fallback runs again next time
+            if (!articles.isEmpty())
+                staged.markProcessed(fetched.get());
         } catch (Exception e) {
             logger.error("Error scraping ISRO website: {}", e.getMessage());
         }
 
+        return Optional.of(articles);
+    }
+
+    /**
+     * Press releases from the page in a single streaming pass: the first link
+     * of each table row, {@code article} or {@code .press-release-item} is one
+     * release. Stops after {@code news.fetch.limit} releases.
+     */
+    List<NewsArticle> parsePressReleases(String html, String baseUrl) {
+        List<NewsArticle> articles = new ArrayList<>();
+        URI base = URI.create(baseUrl);
+        HtmlScanner.scan(html, new HtmlScanner.Handler() {
+            // the open release element, and how deeply same-named tags are nested in it
+            String releaseTag;
+            int depth;
+            String href;
+            StringBuilder linkText;
+            boolean inLink;
+
+            @Override
+            public boolean startTag(String name, Map<String, String> attributes) {
+                // a row's end tag is optional
+                if (releaseTag != null && releaseTag.equals("tr") && name.equals("tr") && !finish())
+                    return false;
+                if (releaseTag == null) {
+                    if (isRelease(name, attributes)) {
+                        releaseTag = name;
+                        depth = 1;
+                        href = null;
+                        linkText = new StringBuilder();
+                        inLink = false;
+                    }
+                    return true;
+                }
+                if (name.equals(releaseTag))
+                    depth++;
+                if (href == null && name.equals("a") && attributes.get("href") != null) {
+                    href = attributes.get("href");
+                    inLink = true;
+                }
+                return true;
+            }
+
+            @Override
+            public boolean text(String text) {
+                if (inLink)
+                    linkText.append(text);
+                return true;
+            }
+
+            @Override
+            public boolean endTag(String name) {
+                if (releaseTag == null)
+                    return true;
+                if (inLink && name.equals("a"))
+                    inLink = false;
+                if ((name.equals(releaseTag) && --depth == 0) || (releaseTag.equals("tr") && name.equals("table")))
+                    return finish();
+                return true;
+            }
+
+            private boolean finish() {
+                releaseTag = null;
+                String title = linkText.toString().replaceAll("\\s+", " ").trim();
+                String url = resolve(base, href);
+                if (!title.isEmpty() && url != null) {
+                    NewsArticle article = new NewsArticle();
+                    article.setTitle(title);
+                    article.setSummary(title); // Use title as summary for now
+                    article.setContent(title);
+                    article.setOriginalUrl(url);
+                    article.setSource("ISRO");
+                    article.setCategory(determineCategoryFromTitle(title));
+                    article.setPublishedDate(LocalDateTime.now()); // ISRO doesn't always provide dates
+                    article.setImageUrl(""); // ISRO press releases typically don't have images
+                    articles.add(article);
+                }
+                return articles.size() < fetchLimit;
+            }
+        });
         return articles;
     }
 
-    private List<NewsArticle> fallbackToSpaceflightApi() {
+    private static boolean isRelease(String tag, Map<String, String> attributes) {
+        if (tag.equals("tr") || tag.equals("article"))
+            return true;
+        String classes = attributes.get("class");
+        return classes != null && Arrays.asList(classes.trim().split("\\s+")).contains("press-release-item");
+    }
+
+    private static String resolve(URI base, String href) {
+        if (href == null || href.isBlank())
+            return null;
+        try {
+            URI url = base.resolve(href.trim());
+            String scheme = url.getScheme();
+            return "http".equalsIgnoreCase(scheme) || "https".equalsIgnoreCase(scheme) ? url.toString() : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private List<NewsArticle> fallbackToSpaceflightApi(ConditionalFetcher.Staged staged) {
         List<NewsArticle> articles = new ArrayList<>();
 
         try {
             // Search for ISRO-related articles in Spaceflight News API
             String url = spaceflightApiUrl + "?limit=" + fetchLimit + "&search=ISRO&ordering=-published_at";
+            Optional<LocalDateTime> since = fetcher.lastPublished(FALLBACK_STATE_KEY);
+            if (since.isPresent())
+                url += "&published_at_gt=" + since.get().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME) + "Z";
             logger.info("Fetching ISRO news from Spaceflight API fallback: {}", url);
 
-            String response = restTemplate.getForObject(url, String.class);
+            String response = http.getString(Integration.SPACEFLIGHT, url);
             JsonNode root = objectMapper.readTree(response);
             JsonNode results = root.get("results");
 
@@ -134,6 +220,9 @@ public class IsroNewsScraperClient {
                 }
             }
 
+            articles.stream().map(NewsArticle::getPublishedDate).filter(Objects::nonNull)
+                    .max(LocalDateTime::compareTo)
+                    .ifPresent(latest -> staged.recordPublished(FALLBACK_STATE_KEY, latest));
             logger.info("Successfully fetched {} ISRO articles from Spaceflight API fallback", articles.size());
         } catch (Exception e) {
             logger.error("Error in Spaceflight API fallback: {}", e.getMessage());
@@ -3,16 +3,17 @@ package com.universeodyssey.universe_odyssey.service.news;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.universeodyssey.universe_odyssey.model.NewsArticle;
+import com.universeodyssey.universe_odyssey.service.http.Integration;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 
 @Service
 public class NasaApiClient {
@@ -25,26 +26,29 @@ public class NasaApiClient {
     @Value("${news.nasa.apod.url:https://api.nasa.gov/planetary/apod}")
     private String apodUrl;
 
-    private final RestTemplate restTemplate;
+    private final ConditionalFetcher fetcher;
     private final ObjectMapper objectMapper;
 
-    public NasaApiClient(RestTemplate restTemplate) {
-        this.restTemplate = restTemplate;
+    public NasaApiClient(ConditionalFetcher fetcher) {
+        this.fetcher = fetcher;
         this.objectMapper = new ObjectMapper();
     }
 
-    public List<NewsArticle> fetchApod() {
+    public List<NewsArticle> fetchApod(ConditionalFetcher.Staged staged) {
         List<NewsArticle> articles = new ArrayList<>();
 
         try {
             String url = apodUrl + "?api_key=" + apiKey;
             logger.info("Fetching NASA APOD: {}", url);
 
-            String response = restTemplate.getForObject(url, String.class);
-            JsonNode apodNode = objectMapper.readTree(response);
+            Optional<ConditionalFetcher.Fetched> fetched = fetcher.fetch("nasa", Integration.NASA, url);
+            if (fetched.isEmpty())
+                return articles;
+            JsonNode apodNode = objectMapper.readTree(fetched.get().getBody());
 
             NewsArticle article = mapApodToNewsArticle(apodNode);
             articles.add(article);
+            staged.markProcessed(fetched.get());
 
             logger.info("Successfully fetched NASA APOD");
         } catch (Exception e) {
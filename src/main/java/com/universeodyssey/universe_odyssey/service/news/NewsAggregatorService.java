@@ -2,123 +2,358 @@ package com.universeodyssey.universe_odyssey.service.news;
 
 import com.universeodyssey.universe_odyssey.model.NewsArticle;
 import com.universeodyssey.universe_odyssey.repository.NewsArticleRepository;
+import com.universeodyssey.universe_odyssey.service.NewsFeedCache;
+import com.universeodyssey.universe_odyssey.service.search.SearchIndexer;
+import com.universeodyssey.universe_odyssey.util.UrlFingerprint;
+import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.core.env.Environment;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 @Service
 public class NewsAggregatorService {
 
     private static final Logger logger = LoggerFactory.getLogger(NewsAggregatorService.class);
 
+    // URLs per IN lookup and rows per insert batch
+    private static final int CHUNK_SIZE = 500;
+
+    private static final String INSERT_SQL =
+            "INSERT IGNORE INTO news_articles (title, summary, content, original_url, url_hash, cluster_hash, url, "
+                    + "image_url, source, published_date, category, fetched_at, hidden) "
+                    + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
     private final SpaceflightNewsApiClient spaceflightClient;
     private final NasaApiClient nasaClient;
     private final EsaRssFeedClient esaClient;
     private final IsroNewsScraperClient isroClient;
     private final NewsArticleRepository newsRepository;
+    private final ConditionalFetcher fetcher;
+    private final NewsClusterIndex clusterIndex;
+    private final NewsFeedCache feedCache;
+    private final SearchIndexer searchIndexer;
+    private final NewsThumbnailService thumbnails;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Map<Source, Long> deadlineMs = new EnumMap<>(Source.class);
+    private volatile AggregationReport lastRun;
 
     public NewsAggregatorService(
             SpaceflightNewsApiClient spaceflightClient,
             NasaApiClient nasaClient,
             EsaRssFeedClient esaClient,
             IsroNewsScraperClient isroClient,
-            NewsArticleRepository newsRepository) {
+            NewsArticleRepository newsRepository,
+            ConditionalFetcher fetcher,
+            NewsClusterIndex clusterIndex,
+            NewsFeedCache feedCache,
+            SearchIndexer searchIndexer,
+            NewsThumbnailService thumbnails,
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            Environment env) {
         this.spaceflightClient = spaceflightClient;
         this.nasaClient = nasaClient;
         this.esaClient = esaClient;
         this.isroClient = isroClient;
         this.newsRepository = newsRepository;
+        this.fetcher = fetcher;
+        this.clusterIndex = clusterIndex;
+        this.feedCache = feedCache;
+        this.searchIndexer = searchIndexer;
+        this.thumbnails = thumbnails;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        for (Source source : Source.values()) {
+            deadlineMs.put(source, env.getProperty("news." + source.key + ".deadline-ms", Long.class,
+                    source.defaultDeadlineMs));
+        }
     }
 
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Fetch every source concurrently, each on its own virtual thread and
+     * bounded by its own deadline, then save what the sources that answered
+     * in time returned. A run takes about as long as the slowest source that
+     * answers. Only those sources' fetch state is committed, so an abandoned
+     * source is fetched again in full next run.
+     */
     public int aggregateAllNews() {
         logger.info("Starting news aggregation from all sources...");
 
+        long start = System.nanoTime();
+        Map<Source, Future<SourceFetch>> futures = new EnumMap<>(Source.class);
+        Map<Source, Long> latencies = new ConcurrentHashMap<>();
+        for (Source source : Source.values()) {
+            futures.put(source, executor.submit(() -> {
+                ConditionalFetcher.Staged staged = new ConditionalFetcher.Staged();
+                List<NewsArticle> articles = fetch(source, staged);
+                latencies.put(source, (System.nanoTime() - start) / 1_000_000);
+                return new SourceFetch(articles, staged);
+            }));
+        }
+
+        List<SourceStats> stats = new ArrayList<>();
         List<NewsArticle> allArticles = new ArrayList<>();
+        List<ConditionalFetcher.Staged> staged = new ArrayList<>();
+        for (Map.Entry<Source, Future<SourceFetch>> e : futures.entrySet()) {
+            Source source = e.getKey();
+            long deadline = start + TimeUnit.MILLISECONDS.toNanos(deadlineMs.get(source));
+            String status;
+            int count = 0;
+            try {
+                SourceFetch fetched = e.getValue().get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                allArticles.addAll(fetched.articles);
+                staged.add(fetched.staged);
+                count = fetched.articles.size();
+                status = "OK";
+                logger.info("Fetched {} articles from {} in {} ms", count, source.label, latencies.get(source));
+            } catch (TimeoutException ex) {
+                e.getValue().cancel(true);
+                status = "TIMED_OUT";
+                logger.error("{} did not answer within {} ms", source.label, deadlineMs.get(source));
+            } catch (ExecutionException ex) {
+                status = "FAILED";
+                logger.error("Failed to fetch from {}: {}", source.label, ex.getCause().getMessage());
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                futures.values().forEach(f -> f.cancel(true));
+                throw new IllegalStateException("News aggregation interrupted", ex);
+            }
+            stats.add(new SourceStats(source.label, status, count,
+                    latencies.getOrDefault(source, (System.nanoTime() - start) / 1_000_000)));
+        }
 
-        // Fetch from Spaceflight News API
-        try {
-            List<NewsArticle> spaceflightArticles = spaceflightClient.fetchLatestArticles();
-            allArticles.addAll(spaceflightArticles);
-            logger.info("Fetched {} articles from Spaceflight News API", spaceflightArticles.size());
-        } catch (Exception e) {
-            logger.error("Failed to fetch from Spaceflight News API: {}", e.getMessage());
+        // Save new articles (skip duplicates); fetch state advances only if that worked
+        int savedCount = saveNewsArticles(allArticles);
+        fetcher.commit(staged);
+        feedCache.rebuild();
+
+        lastRun = new AggregationReport(LocalDateTime.now(), (System.nanoTime() - start) / 1_000_000,
+                allArticles.size(), savedCount, stats);
+        logger.info("News aggregation complete in {} ms. Total fetched: {}, New articles saved: {}",
+                lastRun.durationMs, allArticles.size(), savedCount);
+
+        return savedCount;
+    }
+
+    /**
+     * Per-source results of the most recent run, or null before the first one.
+     */
+    public AggregationReport getLastRun() {
+        return lastRun;
+    }
+
+    private List<NewsArticle> fetch(Source source, ConditionalFetcher.Staged staged) {
+        return switch (source) {
+            case SPACEFLIGHT -> spaceflightClient.fetchLatestArticles(staged);
+            case NASA -> nasaClient.fetchApod(staged);
+            case ESA -> esaClient.fetchEsaNews(staged);
+            case ISRO -> isroClient.fetchIsroNews(staged);
+        };
+    }
+
+    private static final class SourceFetch {
+        final List<NewsArticle> articles;
+        final ConditionalFetcher.Staged staged;
+
+        SourceFetch(List<NewsArticle> articles, ConditionalFetcher.Staged staged) {
+            this.articles = articles;
+            this.staged = staged;
         }
+    }
 
-        // Fetch from NASA APOD
-        try {
-            List<NewsArticle> nasaArticles = nasaClient.fetchApod();
-            allArticles.addAll(nasaArticles);
-            logger.info("Fetched {} articles from NASA APOD", nasaArticles.size());
-        } catch (Exception e) {
-            logger.error("Failed to fetch from NASA APOD: {}", e.getMessage());
+    /**
+     * Save the run's new articles: drop repeats within the run, resolve URL
+     * fingerprints already stored with one indexed IN query per chunk, and
+     * insert the rest as JDBC batches in a single transaction. INSERT IGNORE
+     * on the unique fingerprint covers a concurrent run saving the same URL.
+     * Each row is stored with its story cluster from {@link NewsClusterIndex}.
+     */
+    private int saveNewsArticles(List<NewsArticle> articles) {
+        Map<Long, NewsArticle> byHash = new LinkedHashMap<>();
+        for (NewsArticle article : articles) {
+            Long hash = UrlFingerprint.of(article.getOriginalUrl());
+            if (hash == null) {
+                logger.debug("Skipping article without URL: {}", article.getTitle());
+                continue;
+            }
+            byHash.putIfAbsent(hash, article);
         }
+        if (byHash.isEmpty())
+            return 0;
 
-        // Fetch from ESA RSS
-        try {
-            List<NewsArticle> esaArticles = esaClient.fetchEsaNews();
-            allArticles.addAll(esaArticles);
-            logger.info("Fetched {} articles from ESA RSS", esaArticles.size());
-        } catch (Exception e) {
-            logger.error("Failed to fetch from ESA RSS: {}", e.getMessage());
+        List<Long> hashes = new ArrayList<>(byHash.keySet());
+        for (int i = 0; i < hashes.size(); i += CHUNK_SIZE) {
+            List<Long> chunk = hashes.subList(i, Math.min(i + CHUNK_SIZE, hashes.size()));
+            newsRepository.findExistingUrlHashes(chunk).forEach(byHash::remove);
+        }
+        if (byHash.isEmpty()) {
+            logger.debug("All {} fetched articles already stored", hashes.size());
+            return 0;
         }
 
-        // Fetch from ISRO
+        NewsClusterIndex.Plan clusters = clusterIndex.plan(byHash);
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> rows = new ArrayList<>(byHash.size());
+        for (Map.Entry<Long, NewsArticle> e : byHash.entrySet()) {
+            NewsArticle a = e.getValue();
+            rows.add(new Object[] { a.getTitle(), a.getSummary(), a.getContent(), a.getOriginalUrl(), e.getKey(),
+                    clusters.clusterOf(e.getKey()), a.getUrl() != null ? a.getUrl() : a.getOriginalUrl(),
+                    a.getImageUrl(), a.getSource(), a.getPublishedDate() != null ? a.getPublishedDate() : now,
+                    a.getCategory(), now, a.isHidden() });
+        }
         try {
-            List<NewsArticle> isroArticles = isroClient.fetchIsroNews();
-            allArticles.addAll(isroArticles);
-            logger.info("Fetched {} articles from ISRO", isroArticles.size());
-        } catch (Exception e) {
-            logger.error("Failed to fetch from ISRO: {}", e.getMessage());
+            transactionTemplate.executeWithoutResult(tx -> {
+                for (int i = 0; i < rows.size(); i += CHUNK_SIZE)
+                    jdbcTemplate.batchUpdate(INSERT_SQL, rows.subList(i, Math.min(i + CHUNK_SIZE, rows.size())));
+            });
+            // rewritten batches report SUCCESS_NO_INFO, so the saved rows are taken from the read-back
+            Set<Long> stored = indexStored(new ArrayList<>(byHash.keySet()));
+            clusterIndex.add(clusters, stored);
+            return stored.size();
+        } catch (DataAccessException e) {
+            logger.error("Error saving {} new articles: {}", rows.size(), e.getMessage(), e);
+            throw e;
         }
+    }
 
-        // Save new articles (skip duplicates)
-        int savedCount = saveNewsArticles(allArticles);
+    /**
+     * Add newly stored articles to the search index and start their
+     * thumbnails; they are read back by fingerprint since the batch insert
+     * does not return their ids.
+     *
+     * @return fingerprints of the articles found
+     */
+    private Set<Long> indexStored(List<Long> hashes) {
+        Set<Long> found = new HashSet<>();
+        for (int i = 0; i < hashes.size(); i += CHUNK_SIZE) {
+            List<NewsArticle> stored = newsRepository.findByUrlHashIn(
+                    hashes.subList(i, Math.min(i + CHUNK_SIZE, hashes.size())));
+            for (NewsArticle article : stored)
+                found.add(article.getUrlHash());
+            stored.forEach(searchIndexer::indexNews);
+            thumbnails.generateAsync(stored);
+        }
+        return found;
+    }
 
-        logger.info("News aggregation complete. Total fetched: {}, New articles saved: {}",
-                allArticles.size(), savedCount);
+    /**
+     * Rebuild the in-memory story clusters from articles published within the
+     * cluster window. Articles stored before clustering existed are clustered
+     * here, oldest first, and their cluster_hash saved.
+     *
+     * @return number of articles indexed
+     */
+    public int loadStoryClusters() {
+        Map<Long, NewsArticle> unclustered = new LinkedHashMap<>();
+        jdbcTemplate.query("SELECT url_hash, cluster_hash, title, summary, published_date FROM news_articles "
+                + "WHERE url_hash IS NOT NULL AND published_date >= ? ORDER BY id",
+                rs -> {
+                    long urlHash = rs.getLong("url_hash");
+                    Timestamp published = rs.getTimestamp("published_date");
+                    LocalDateTime publishedDate = published != null ? published.toLocalDateTime() : null;
+                    long cluster = rs.getLong("cluster_hash");
+                    if (!rs.wasNull()) {
+                        clusterIndex.addExisting(urlHash, cluster, rs.getString("title"), rs.getString("summary"),
+                                publishedDate);
+                        return;
+                    }
+                    NewsArticle article = new NewsArticle();
+                    article.setTitle(rs.getString("title"));
+                    article.setSummary(rs.getString("summary"));
+                    article.setPublishedDate(publishedDate);
+                    unclustered.put(urlHash, article);
+                }, clusterIndex.windowStart());
 
-        return savedCount;
+        if (!unclustered.isEmpty()) {
+            NewsClusterIndex.Plan plan = clusterIndex.plan(unclustered);
+            List<Object[]> updates = new ArrayList<>(unclustered.size());
+            plan.clusters().forEach((urlHash, cluster) -> updates.add(new Object[] { cluster, urlHash }));
+            transactionTemplate.executeWithoutResult(tx -> {
+                for (int i = 0; i < updates.size(); i += CHUNK_SIZE)
+                    jdbcTemplate.batchUpdate("UPDATE news_articles SET cluster_hash = ? WHERE url_hash = ?",
+                            updates.subList(i, Math.min(i + CHUNK_SIZE, updates.size())));
+            });
+            clusterIndex.add(plan);
+            logger.info("Assigned story clusters to {} news articles", updates.size());
+        }
+        return clusterIndex.size();
     }
 
-    private int saveNewsArticles(List<NewsArticle> articles) {
-        int savedCount = 0;
+    private enum Source {
+        // ISRO may scrape and then fall back to Spaceflight, so it gets the longest budget
+        SPACEFLIGHT("spaceflight", "Spaceflight News API", 20000),
+        NASA("nasa", "NASA APOD", 20000),
+        ESA("esa", "ESA RSS", 20000),
+        ISRO("isro", "ISRO", 40000);
 
-        for (NewsArticle article : articles) {
-            try {
-                if (saveArticle(article)) {
-                    savedCount++;
-                }
-            } catch (Exception e) {
-                logger.error("Error processing article '{}': {}", article.getTitle(), e.getMessage());
-            }
-        }
+        final String key;
+        final String label;
+        final long defaultDeadlineMs;
 
-        return savedCount;
+        Source(String key, String label, long defaultDeadlineMs) {
+            this.key = key;
+            this.label = label;
+            this.defaultDeadlineMs = defaultDeadlineMs;
+        }
     }
 
-    @Transactional(propagation = org.springframework.transaction.annotation.Propagation.REQUIRES_NEW)
-    public boolean saveArticle(NewsArticle article) {
-        try {
-            if (!isDuplicate(article)) {
-                newsRepository.save(article);
-                logger.debug("Saved new article: {}", article.getTitle());
-                return true;
-            } else {
-                logger.debug("Skipping duplicate article: {}", article.getTitle());
-                return false;
-            }
-        } catch (Exception e) {
-            logger.error("Error saving article '{}': {}", article.getTitle(), e.getMessage(), e);
-            throw e; // Re-throw to trigger rollback for this specific transaction if needed, though
-                     // caught above
+    public static class SourceStats {
+        public final String source;
+        public final String status;
+        public final int articles;
+        public final long latencyMs;
+
+        SourceStats(String source, String status, int articles, long latencyMs) {
+            this.source = source;
+            this.status = status;
+            this.articles = articles;
+            this.latencyMs = latencyMs;
         }
     }
 
-    private boolean isDuplicate(NewsArticle article) {
-        return newsRepository.existsByOriginalUrl(article.getOriginalUrl());
+    public static class AggregationReport {
+        public final LocalDateTime finishedAt;
+        public final long durationMs;
+        public final int fetched;
+        public final int saved;
+        public final List<SourceStats> sources;
+
+        AggregationReport(LocalDateTime finishedAt, long durationMs, int fetched, int saved,
+                List<SourceStats> sources) {
+            this.finishedAt = finishedAt;
+            this.durationMs = durationMs;
+            this.fetched = fetched;
+            this.saved = saved;
+            this.sources = List.copyOf(sources);
+        }
     }
 }
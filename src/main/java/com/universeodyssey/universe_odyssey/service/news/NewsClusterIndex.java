@@ -0,0 +1,233 @@
+package com.universeodyssey.universe_odyssey.service.news;
+
+import com.universeodyssey.universe_odyssey.model.NewsArticle;
+import com.universeodyssey.universe_odyssey.util.MinHash;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Groups near-duplicate news articles into story clusters, e.g. an ISRO story
+ * relabelled from the Spaceflight API, or a launch covered by two sources.
+ *
+ * Each article gets a MinHash signature over the content words and word pairs
+ * of its title and the start of its summary. Signatures are split into bands
+ * and indexed in memory by band, so only articles sharing a band are compared.
+ * A cluster is identified by the URL fingerprint of its first article. Only
+ * articles published within the window are kept.
+ */
+@Component
+public class NewsClusterIndex {
+
+    private static final int BANDS = 20;
+    private static final int ROWS = 3;
+    private static final MinHash MIN_HASH = new MinHash(BANDS * ROWS, 0x4E3F);
+    private static final int SUMMARY_WORDS = 60;
+    private static final Set<String> STOPWORDS = Set.of(
+            "a", "an", "the", "is", "are", "was", "were", "be", "been", "has", "have", "had", "will", "would",
+            "of", "on", "in", "at", "to", "for", "from", "by", "with", "and", "or", "as", "after", "into",
+            "it", "its", "this", "that", "their", "new", "says", "said");
+
+    private final double similarityThreshold;
+    private final long windowDays;
+
+    private final Map<Long, Member> members = new HashMap<>();
+    private final Map<Long, List<Member>> buckets = new HashMap<>();
+
+    public NewsClusterIndex(@Value("${news.cluster.similarity-threshold:0.5}") double similarityThreshold,
+            @Value("${news.cluster.window-days:7}") long windowDays) {
+        this.similarityThreshold = similarityThreshold;
+        this.windowDays = windowDays;
+    }
+
+    /**
+     * Decide the cluster of each article, keyed by URL fingerprint. Articles
+     * are matched against the index and against each other; nothing is
+     * indexed until the plan is {@link #add added}, once they are stored.
+     */
+    public synchronized Plan plan(Map<Long, NewsArticle> articles) {
+        Plan plan = new Plan();
+        Map<Long, List<Member>> staged = new HashMap<>();
+        for (Map.Entry<Long, NewsArticle> e : articles.entrySet()) {
+            long urlHash = e.getKey();
+            NewsArticle article = e.getValue();
+            Member known = members.get(urlHash);
+            if (known != null) {
+                plan.clusters.put(urlHash, known.cluster);
+                continue;
+            }
+            int[] signature = signature(article.getTitle(), article.getSummary());
+            Long match = signature == null ? null : bestMatch(signature, staged);
+            long cluster = match != null ? match : urlHash;
+            plan.clusters.put(urlHash, cluster);
+            if (signature != null) {
+                Member member = new Member(urlHash, cluster, signature, article.getPublishedDate());
+                plan.members.add(member);
+                for (int band = 0; band < BANDS; band++)
+                    staged.computeIfAbsent(bandKey(signature, band), k -> new ArrayList<>()).add(member);
+            }
+        }
+        return plan;
+    }
+
+    /**
+     * Index the articles of a plan whose rows have been stored.
+     */
+    public synchronized void add(Plan plan) {
+        plan.members.forEach(this::index);
+        prune();
+    }
+
+    /**
+     * Index only the plan's articles whose fingerprints are in {@code stored}.
+     */
+    public synchronized void add(Plan plan, Set<Long> stored) {
+        for (Member member : plan.members) {
+            if (stored.contains(member.urlHash))
+                index(member);
+        }
+        prune();
+    }
+
+    /**
+     * Index an article already stored with its cluster, when loading at startup.
+     */
+    public synchronized void addExisting(long urlHash, long cluster, String title, String summary,
+            LocalDateTime publishedDate) {
+        int[] signature = signature(title, summary);
+        if (signature != null)
+            index(new Member(urlHash, cluster, signature, publishedDate));
+    }
+
+    public synchronized int size() {
+        return members.size();
+    }
+
+    /**
+     * Oldest publication date the index still keeps.
+     */
+    public LocalDateTime windowStart() {
+        return LocalDateTime.now().minusDays(windowDays);
+    }
+
+    private Long bestMatch(int[] signature, Map<Long, List<Member>> staged) {
+        Member best = null;
+        double bestSimilarity = similarityThreshold;
+        Set<Member> seen = new HashSet<>();
+        for (int band = 0; band < BANDS; band++) {
+            long key = bandKey(signature, band);
+            for (Map<Long, List<Member>> index : List.of(buckets, staged)) {
+                for (Member candidate : index.getOrDefault(key, List.of())) {
+                    if (!seen.add(candidate))
+                        continue;
+                    double similarity = MinHash.similarity(signature, candidate.signature);
+                    if (similarity >= bestSimilarity) {
+                        best = candidate;
+                        bestSimilarity = similarity;
+                    }
+                }
+            }
+        }
+        return best == null ? null : best.cluster;
+    }
+
+    private void index(Member member) {
+        if (members.putIfAbsent(member.urlHash, member) != null)
+            return;
+        for (int band = 0; band < BANDS; band++)
+            buckets.computeIfAbsent(bandKey(member.signature, band), k -> new ArrayList<>()).add(member);
+    }
+
+    private void prune() {
+        LocalDateTime cutoff = windowStart();
+        Iterator<Member> it = members.values().iterator();
+        while (it.hasNext()) {
+            Member member = it.next();
+            if (member.publishedDate == null || !member.publishedDate.isBefore(cutoff))
+                continue;
+            it.remove();
+            for (int band = 0; band < BANDS; band++) {
+                long key = bandKey(member.signature, band);
+                List<Member> bucket = buckets.get(key);
+                if (bucket != null && bucket.remove(member) && bucket.isEmpty())
+                    buckets.remove(key);
+            }
+        }
+    }
+
+    private static long bandKey(int[] signature, int band) {
+        int h = 1;
+        for (int i = band * ROWS; i < (band + 1) * ROWS; i++)
+            h = 31 * h + signature[i];
+        return ((long) band << 32) | (h & 0xffffffffL);
+    }
+
+    /**
+     * MinHash over content words (crudely singularized) and adjacent word
+     * pairs; null when there are no content words.
+     */
+    static int[] signature(String title, String summary) {
+        List<String> words = new ArrayList<>();
+        addWords(words, title, Integer.MAX_VALUE);
+        addWords(words, summary, SUMMARY_WORDS);
+        return MIN_HASH.signature(words);
+    }
+
+    private static void addWords(List<String> words, String text, int limit) {
+        if (text == null)
+            return;
+        int taken = 0;
+        for (String w : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (taken >= limit)
+                break;
+            if (w.isEmpty() || STOPWORDS.contains(w))
+                continue;
+            words.add(MinHash.singularize(w));
+            taken++;
+        }
+    }
+
+    /**
+     * Cluster assignment for one batch of articles.
+     */
+    public static final class Plan {
+        private final Map<Long, Long> clusters = new LinkedHashMap<>();
+        private final List<Member> members = new ArrayList<>();
+
+        /**
+         * URL fingerprint of the cluster's first article; the article's own
+         * fingerprint when it starts a new cluster.
+         */
+        public Long clusterOf(long urlHash) {
+            return clusters.get(urlHash);
+        }
+
+        public Map<Long, Long> clusters() {
+            return clusters;
+        }
+    }
+
+    private static final class Member {
+        final long urlHash;
+        final long cluster;
+        final int[] signature;
+        final LocalDateTime publishedDate;
+
+        Member(long urlHash, long cluster, int[] signature, LocalDateTime publishedDate) {
+            this.urlHash = urlHash;
+            this.cluster = cluster;
+            this.signature = signature;
+            this.publishedDate = publishedDate;
+        }
+    }
+}
@@ -0,0 +1,361 @@
+package com.universeodyssey.universe_odyssey.service.news;
+
+import com.universeodyssey.universe_odyssey.model.NewsArticle;
+import com.universeodyssey.universe_odyssey.repository.NewsArticleRepository;
+import com.universeodyssey.universe_odyssey.service.http.BulkheadRejectedException;
+import com.universeodyssey.universe_odyssey.service.http.Integration;
+import com.universeodyssey.universe_odyssey.service.http.OutboundHttpClient;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Stream;
+
+/**
+ * JPEG thumbnails of news images, kept in a size-bounded directory.
+ *
+ * Each source image is downloaded once, decoded with subsampling when it is
+ * much larger than the thumbnail, scaled to the configured width and written
+ * to {@code <id>.jpg}. The directory is trimmed least-recently-used first
+ * once it exceeds its byte budget; reads are memory-mapped. Thumbnails for new
+ * articles are made during aggregation so the first viewer does not wait.
+ * Downloads queue for a permit sized to the news-images bulkhead instead of
+ * being rejected by it.
+ */
+@Service
+public class NewsThumbnailService {
+
+    private static final Logger logger = LoggerFactory.getLogger(NewsThumbnailService.class);
+
+    private static final String SUFFIX = ".jpg";
+    private static final long MAX_SOURCE_BYTES = 20L * 1024 * 1024;
+    private static final long MAX_SOURCE_PIXELS = 60_000_000L;
+    // a failed image is not retried before this
+    private static final long FAILURE_BACKOFF_MS = 60 * 60 * 1000L;
+
+    private final NewsArticleRepository newsRepository;
+    private final OutboundHttpClient http;
+    private final Path directory;
+    private final long maxBytes;
+    private final int width;
+    private final float quality;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Semaphore downloads;
+
+    // id -> file size, in access order
+    private final LinkedHashMap<Long, Long> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalBytes;
+    private final Map<Long, CompletableFuture<Boolean>> inProgress = new ConcurrentHashMap<>();
+    private final Map<Long, Long> failedAt = new ConcurrentHashMap<>();
+
+    public NewsThumbnailService(NewsArticleRepository newsRepository, OutboundHttpClient http,
+            @Value("${news.thumbnails.dir:${java.io.tmpdir}/universe-odyssey/thumbnails}") String directory,
+            @Value("${news.thumbnails.max-bytes:268435456}") long maxBytes,
+            @Value("${news.thumbnails.width:640}") int width,
+            @Value("${news.thumbnails.quality:0.8}") float quality) {
+        this.newsRepository = newsRepository;
+        this.http = http;
+        this.directory = Path.of(directory);
+        this.maxBytes = maxBytes;
+        this.width = width;
+        this.quality = quality;
+        this.downloads = new Semaphore(Math.max(1, http.maxConcurrent(Integration.NEWS_IMAGES)));
+    }
+
+    /**
+     * Pick up thumbnails left by a previous run, oldest access first.
+     */
+    @PostConstruct
+    public void loadDirectory() {
+        try {
+            Files.createDirectories(directory);
+            List<Path> files;
+            try (Stream<Path> listing = Files.list(directory)) {
+                files = new ArrayList<>(listing.filter(p -> p.getFileName().toString().endsWith(SUFFIX)).toList());
+            }
+            files.sort(Comparator.comparingLong(NewsThumbnailService::lastModified));
+            synchronized (this) {
+                for (Path file : files) {
+                    Long id = idOf(file);
+                    if (id != null)
+                        record(id, Files.size(file));
+                }
+                evict();
+            }
+            logger.info("Thumbnail cache at {}: {} files, {} bytes", directory, entries.size(), totalBytes);
+        } catch (IOException e) {
+            logger.error("Cannot use thumbnail directory {}: {}", directory, e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Memory-mapped thumbnail for an article, generating it first if needed.
+     * Empty when the article has no usable image.
+     */
+    public Optional<MappedByteBuffer> thumbnail(long id) {
+        Optional<MappedByteBuffer> cached = read(id);
+        if (cached.isPresent())
+            return cached;
+        if (!generate(id).join())
+            return Optional.empty();
+        return read(id);
+    }
+
+    /**
+     * Start thumbnail generation for freshly stored articles. Returns at once.
+     */
+    public void generateAsync(Collection<NewsArticle> articles) {
+        for (NewsArticle article : articles) {
+            if (article.getId() != null && article.getImageUrl() != null && !article.getImageUrl().isBlank()) {
+                executor.execute(() -> make(article.getId(), article.getImageUrl()));
+            }
+        }
+    }
+
+    public synchronized Map<String, Object> stats() {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("directory", directory.toString());
+        m.put("files", entries.size());
+        m.put("bytes", totalBytes);
+        m.put("maxBytes", maxBytes);
+        return m;
+    }
+
+    private Optional<MappedByteBuffer> read(long id) {
+        synchronized (this) {
+            if (entries.get(id) == null)
+                return Optional.empty();
+        }
+        try (FileChannel channel = FileChannel.open(file(id), StandardOpenOption.READ)) {
+            return Optional.of(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        } catch (IOException e) {
+            // evicted or removed between the lookup and the open
+            synchronized (this) {
+                Long size = entries.remove(id);
+                if (size != null)
+                    totalBytes -= size;
+            }
+            return Optional.empty();
+        }
+    }
+
+    private CompletableFuture<Boolean> generate(long id) {
+        CompletableFuture<Boolean> running = inProgress.get(id);
+        if (running != null)
+            return running;
+        Optional<String> imageUrl = newsRepository.findById(id)
+                .map(NewsArticle::getImageUrl)
+                .filter(url -> !url.isBlank());
+        if (imageUrl.isEmpty())
+            return CompletableFuture.completedFuture(false);
+        return CompletableFuture.supplyAsync(() -> make(id, imageUrl.get()), executor);
+    }
+
+    /**
+     * Download, scale and store one thumbnail; concurrent calls for the same
+     * article share one attempt.
+     */
+    private boolean make(long id, String imageUrl) {
+        CompletableFuture<Boolean> attempt = new CompletableFuture<>();
+        CompletableFuture<Boolean> running = inProgress.putIfAbsent(id, attempt);
+        if (running != null)
+            return running.join();
+        try {
+            boolean made = cached(id) || (!recentlyFailed(id) && download(id, imageUrl));
+            attempt.complete(made);
+            return made;
+        } finally {
+            inProgress.remove(id, attempt);
+        }
+    }
+
+    private boolean download(long id, String imageUrl) {
+        try {
+            // read within the integration's deadline, which also bounds the size in practice
+            byte[] source;
+            downloads.acquire();
+            try {
+                source = http.getBytes(Integration.NEWS_IMAGES, imageUrl);
+            } finally {
+                downloads.release();
+            }
+            if (source.length > MAX_SOURCE_BYTES)
+                throw new IOException("image larger than " + MAX_SOURCE_BYTES + " bytes");
+
+            byte[] jpeg = encode(scale(decode(source)));
+            Path tmp = Files.createTempFile(directory, "thumb-", ".tmp");
+            Files.write(tmp, jpeg);
+            Files.move(tmp, file(id), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            synchronized (this) {
+                record(id, jpeg.length);
+                evict();
+            }
+            failedAt.remove(id);
+            logger.debug("Thumbnail for news {}: {} -> {} bytes", id, source.length, jpeg.length);
+            return true;
+        } catch (BulkheadRejectedException e) {
+            // says nothing about the image; the next request tries again
+            logger.debug("Thumbnail for news {} deferred: {}", id, e.getMessage());
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (IOException | RuntimeException e) {
+            failedAt.put(id, System.currentTimeMillis());
+            logger.warn("No thumbnail for news {} ({}): {}", id, imageUrl, e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Decode, reading only every n-th pixel when the image is several times
+     * wider than the thumbnail, which bounds memory for huge originals.
+     */
+    private BufferedImage decode(byte[] source) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(new ByteArrayInputStream(source))) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+            if (!readers.hasNext())
+                throw new IOException("unsupported image format");
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                long w = reader.getWidth(0);
+                long h = reader.getHeight(0);
+                if (w * h > MAX_SOURCE_PIXELS)
+                    throw new IOException("image too large: " + w + "x" + h);
+                ImageReadParam param = reader.getDefaultReadParam();
+                int step = (int) Math.max(1, w / (width * 2L));
+                if (step > 1)
+                    param.setSourceSubsampling(step, step, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private BufferedImage scale(BufferedImage image) {
+        int w = Math.min(width, image.getWidth());
+        int h = Math.max(1, (int) Math.round((double) image.getHeight() * w / image.getWidth()));
+        // JPEG has no alpha: flatten onto white
+        BufferedImage out = new BufferedImage(w, h, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = out.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.setColor(Color.WHITE);
+            g.fillRect(0, 0, w, h);
+            g.drawImage(image, 0, 0, w, h, null);
+        } finally {
+            g.dispose();
+        }
+        return out;
+    }
+
+    private byte[] encode(BufferedImage image) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ImageOutputStream out = ImageIO.createImageOutputStream(bytes)) {
+            writer.setOutput(out);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(quality);
+            param.setProgressiveMode(ImageWriteParam.MODE_DEFAULT);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return bytes.toByteArray();
+    }
+
+    private synchronized boolean cached(long id) {
+        return entries.containsKey(id);
+    }
+
+    private boolean recentlyFailed(long id) {
+        Long at = failedAt.get(id);
+        return at != null && System.currentTimeMillis() - at < FAILURE_BACKOFF_MS;
+    }
+
+    private void record(long id, long size) {
+        Long previous = entries.put(id, size);
+        totalBytes += size - (previous != null ? previous : 0);
+    }
+
+    private void evict() {
+        Iterator<Map.Entry<Long, Long>> it = entries.entrySet().iterator();
+        while (totalBytes > maxBytes && it.hasNext()) {
+            Map.Entry<Long, Long> eldest = it.next();
+            it.remove();
+            totalBytes -= eldest.getValue();
+            try {
+                Files.deleteIfExists(file(eldest.getKey()));
+            } catch (IOException e) {
+                logger.warn("Could not delete thumbnail {}: {}", eldest.getKey(), e.getMessage());
+            }
+        }
+    }
+
+    private Path file(long id) {
+        return directory.resolve(id + SUFFIX);
+    }
+
+    private static Long idOf(Path file) {
+        String name = file.getFileName().toString();
+        try {
+            return Long.parseLong(name.substring(0, name.length() - SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static long lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toMillis();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+}
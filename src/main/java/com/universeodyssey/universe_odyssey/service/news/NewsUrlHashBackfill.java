@@ -0,0 +1,78 @@
+package com.universeodyssey.universe_odyssey.service.news;
+
+import com.universeodyssey.universe_odyssey.repository.NewsArticleRepository;
+import com.universeodyssey.universe_odyssey.util.UrlFingerprint;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One-off fill of url_hash for news articles stored before the column
+ * existed. New rows always get their hash on insert, so this only runs when
+ * {@code news.url-hash.backfill-on-startup} is set; turn it off again once it
+ * has run.
+ */
+@Component
+@ConditionalOnProperty(name = "news.url-hash.backfill-on-startup", havingValue = "true")
+public class NewsUrlHashBackfill {
+
+    private static final Logger logger = LoggerFactory.getLogger(NewsUrlHashBackfill.class);
+
+    private static final int CHUNK_SIZE = 500;
+
+    private final NewsArticleRepository newsRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public NewsUrlHashBackfill(NewsArticleRepository newsRepository, JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager) {
+        this.newsRepository = newsRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * A row whose fingerprint is already taken is a duplicate and keeps a
+     * null hash.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        List<Object[]> missing = newsRepository.findIdsWithoutUrlHash();
+        if (missing.isEmpty())
+            return;
+
+        Map<Long, Long> idByHash = new LinkedHashMap<>();
+        for (Object[] row : missing) {
+            Long hash = UrlFingerprint.of((String) row[1]);
+            if (hash != null)
+                idByHash.putIfAbsent(hash, (Long) row[0]);
+        }
+        List<Long> hashes = new ArrayList<>(idByHash.keySet());
+        for (int i = 0; i < hashes.size(); i += CHUNK_SIZE) {
+            List<Long> chunk = hashes.subList(i, Math.min(i + CHUNK_SIZE, hashes.size()));
+            newsRepository.findExistingUrlHashes(chunk).forEach(idByHash::remove);
+        }
+
+        List<Object[]> updates = new ArrayList<>(idByHash.size());
+        idByHash.forEach((hash, id) -> updates.add(new Object[] { hash, id }));
+        if (!updates.isEmpty()) {
+            transactionTemplate.executeWithoutResult(tx -> {
+                for (int i = 0; i < updates.size(); i += CHUNK_SIZE)
+                    jdbcTemplate.batchUpdate("UPDATE news_articles SET url_hash = ? WHERE id = ?",
+                            updates.subList(i, Math.min(i + CHUNK_SIZE, updates.size())));
+            });
+        }
+        logger.info("Backfilled url_hash for {} of {} news articles", updates.size(), missing.size());
+    }
+}
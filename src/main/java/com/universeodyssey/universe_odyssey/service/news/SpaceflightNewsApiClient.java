@@ -3,44 +3,56 @@ package com.universeodyssey.universe_odyssey.service.news;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.universeodyssey.universe_odyssey.model.NewsArticle;
+import com.universeodyssey.universe_odyssey.service.http.Integration;
+import com.universeodyssey.universe_odyssey.service.http.OutboundHttpClient;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 
 import java.time.LocalDateTime;
 import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
 
 @Service
 public class SpaceflightNewsApiClient {
 
     private static final Logger logger = LoggerFactory.getLogger(SpaceflightNewsApiClient.class);
 
+    private static final String STATE_KEY = "spaceflight";
+
     @Value("${news.spaceflight.api.url:https://api.spaceflightnewsapi.net/v4/articles}")
     private String apiUrl;
 
     @Value("${news.fetch.limit:50}")
     private int fetchLimit;
 
-    private final RestTemplate restTemplate;
+    private final OutboundHttpClient http;
+    private final ConditionalFetcher fetcher;
     private final ObjectMapper objectMapper;
 
-    public SpaceflightNewsApiClient(RestTemplate restTemplate) {
-        this.restTemplate = restTemplate;
+    public SpaceflightNewsApiClient(OutboundHttpClient http, ConditionalFetcher fetcher) {
+        this.http = http;
+        this.fetcher = fetcher;
         this.objectMapper = new ObjectMapper();
     }
 
-    public List<NewsArticle> fetchLatestArticles() {
+    public List<NewsArticle> fetchLatestArticles(ConditionalFetcher.Staged staged) {
         List<NewsArticle> articles = new ArrayList<>();
 
         try {
             String url = apiUrl + "?limit=" + fetchLimit + "&ordering=-published_at";
+            // only articles newer than the newest one already ingested
+            Optional<LocalDateTime> since = fetcher.lastPublished(STATE_KEY);
+            if (since.isPresent())
+                url += "&published_at_gt=" + since.get().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME) + "Z";
             logger.info("Fetching articles from Spaceflight News API: {}", url);
 
-            String response = restTemplate.getForObject(url, String.class);
+            String response = http.getString(Integration.SPACEFLIGHT, url);
             JsonNode root = objectMapper.readTree(response);
             JsonNode results = root.get("results");
 
@@ -55,6 +67,9 @@ public class SpaceflightNewsApiClient {
                 }
             }
 
+            articles.stream().map(NewsArticle::getPublishedDate).filter(Objects::nonNull)
+                    .max(LocalDateTime::compareTo)
+                    .ifPresent(latest -> staged.recordPublished(STATE_KEY, latest));
             logger.info("Successfully fetched {} articles from Spaceflight News API", articles.size());
         } catch (Exception e) {
             logger.error("Error fetching from Spaceflight News API: {}", e.getMessage(), e);
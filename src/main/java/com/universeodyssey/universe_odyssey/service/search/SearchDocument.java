@@ -0,0 +1,84 @@
+package com.universeodyssey.universe_odyssey.service.search;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One searchable item: a news article or a blog post. Facet values are
+ * matched case-insensitively.
+ */
+public final class SearchDocument {
+
+    private final String type;
+    private final long id;
+    private final String title;
+    private final String summary;
+    private final String body;
+    private final String url;
+    private final LocalDateTime date;
+    private final Map<String, List<String>> facets = new LinkedHashMap<>();
+
+    public SearchDocument(String type, long id, String title, String summary, String body, String url,
+            LocalDateTime date) {
+        this.type = type;
+        this.id = id;
+        this.title = title != null ? title : "";
+        this.summary = summary != null ? summary : "";
+        this.body = body != null ? body : "";
+        this.url = url;
+        this.date = date;
+        facet("type", type);
+    }
+
+    /**
+     * Add a facet value; blank values are ignored.
+     */
+    public SearchDocument facet(String name, String value) {
+        if (value != null && !value.isBlank())
+            facets.computeIfAbsent(name, k -> new ArrayList<>()).add(value.trim());
+        return this;
+    }
+
+    String key() {
+        return key(type, id);
+    }
+
+    static String key(String type, long id) {
+        return type + ":" + id;
+    }
+
+    String getType() {
+        return type;
+    }
+
+    long getId() {
+        return id;
+    }
+
+    String getTitle() {
+        return title;
+    }
+
+    String getSummary() {
+        return summary;
+    }
+
+    String getBody() {
+        return body;
+    }
+
+    String getUrl() {
+        return url;
+    }
+
+    LocalDateTime getDate() {
+        return date;
+    }
+
+    Map<String, List<String>> getFacets() {
+        return facets;
+    }
+}
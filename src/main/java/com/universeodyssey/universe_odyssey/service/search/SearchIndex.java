@@ -0,0 +1,321 @@
+package com.universeodyssey.universe_odyssey.service.search;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.HtmlUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory inverted index over news articles and blog posts, ranked with
+ * BM25. Title, summary and body term counts are combined with field boosts
+ * before saturation (BM25F-style), so a title match outranks a passing
+ * mention in the body. Documents are added, replaced and removed one at a
+ * time as the underlying rows change.
+ */
+@Component
+public class SearchIndex {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int TITLE_BOOST = 3;
+    private static final int SUMMARY_BOOST = 2;
+    private static final int BODY_BOOST = 1;
+    // body text kept per document for snippets
+    private static final int STORED_BODY_CHARS = 4000;
+    private static final int SNIPPET_CHARS = 220;
+
+    private static final Pattern WORD = Pattern.compile("[\\p{L}\\p{N}]+");
+    private static final Set<String> STOPWORDS = Set.of(
+            "a", "an", "the", "is", "are", "was", "were", "be", "been", "of", "on", "in", "at", "to", "for",
+            "from", "by", "with", "and", "or", "as", "it", "its", "this", "that", "these", "those", "not", "but");
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Doc> docs = new HashMap<>();
+    // term -> document key -> boosted term frequency
+    private final Map<String, Map<String, Integer>> postings = new HashMap<>();
+    private long totalLength;
+
+    public void put(SearchDocument document) {
+        Map<String, Integer> terms = new HashMap<>();
+        int length = count(terms, document.getTitle(), TITLE_BOOST)
+                + count(terms, document.getSummary(), SUMMARY_BOOST)
+                + count(terms, document.getBody(), BODY_BOOST);
+        Doc doc = new Doc(document, terms, length);
+
+        lock.writeLock().lock();
+        try {
+            removeLocked(doc.key);
+            docs.put(doc.key, doc);
+            totalLength += length;
+            terms.forEach((term, tf) -> postings.computeIfAbsent(term, k -> new HashMap<>()).put(doc.key, tf));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(String type, long id) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(SearchDocument.key(type, id));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docs.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Rank the documents matching any query term, restricted to those having
+     * every given facet value. Facet counts cover all restricted matches, not
+     * just the requested page.
+     */
+    public SearchResults search(String query, Map<String, String> filters, int offset, int limit) {
+        List<String> terms = new ArrayList<>(new LinkedHashSet<>(tokenize(query)));
+        if (terms.isEmpty())
+            return new SearchResults(0, List.of(), Map.of());
+
+        List<Scored> matches = new ArrayList<>();
+        Map<String, Map<String, Integer>> facets = new TreeMap<>();
+        lock.readLock().lock();
+        try {
+            int n = docs.size();
+            double avgLength = n == 0 ? 1 : Math.max(1.0, (double) totalLength / n);
+            Map<String, Double> scores = new HashMap<>();
+            for (String term : terms) {
+                Map<String, Integer> posting = postings.get(term);
+                if (posting == null)
+                    continue;
+                double idf = Math.log(1 + (n - posting.size() + 0.5) / (posting.size() + 0.5));
+                for (Map.Entry<String, Integer> p : posting.entrySet()) {
+                    int tf = p.getValue();
+                    double norm = K1 * (1 - B + B * docs.get(p.getKey()).length / avgLength);
+                    scores.merge(p.getKey(), idf * tf * (K1 + 1) / (tf + norm), Double::sum);
+                }
+            }
+            for (Map.Entry<String, Double> e : scores.entrySet()) {
+                Doc doc = docs.get(e.getKey());
+                if (!matchesFilters(doc, filters))
+                    continue;
+                matches.add(new Scored(doc, e.getValue()));
+                doc.facets.forEach((name, values) -> {
+                    Map<String, Integer> counts = facets.computeIfAbsent(name, k -> new TreeMap<>());
+                    for (String value : values)
+                        counts.merge(value, 1, Integer::sum);
+                });
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        matches.sort(Comparator.comparingDouble((Scored s) -> s.score).reversed()
+                .thenComparing(s -> s.doc.date, Comparator.nullsLast(Comparator.reverseOrder())));
+        List<Hit> hits = new ArrayList<>();
+        Set<String> termSet = new HashSet<>(terms);
+        for (int i = Math.max(0, offset); i < Math.min(matches.size(), offset + limit); i++) {
+            Doc doc = matches.get(i).doc;
+            hits.add(new Hit(doc.type, doc.id, doc.title, doc.url, doc.date, matches.get(i).score,
+                    highlight(doc.title, termSet), snippet(doc, termSet)));
+        }
+        return new SearchResults(matches.size(), hits, facets);
+    }
+
+    private void removeLocked(String key) {
+        Doc old = docs.remove(key);
+        if (old == null)
+            return;
+        totalLength -= old.length;
+        for (String term : old.terms.keySet()) {
+            Map<String, Integer> posting = postings.get(term);
+            if (posting != null && posting.remove(key) != null && posting.isEmpty())
+                postings.remove(term);
+        }
+    }
+
+    private static boolean matchesFilters(Doc doc, Map<String, String> filters) {
+        for (Map.Entry<String, String> f : filters.entrySet()) {
+            if (f.getValue() == null || f.getValue().isBlank())
+                continue;
+            boolean found = false;
+            for (String v : doc.facets.getOrDefault(f.getKey(), List.of())) {
+                if (v.equalsIgnoreCase(f.getValue().trim())) {
+                    found = true;
+                    break;
+                }
+            }
+            if (!found)
+                return false;
+        }
+        return true;
+    }
+
+    private static int count(Map<String, Integer> terms, String text, int boost) {
+        List<String> tokens = tokenize(text);
+        for (String token : tokens)
+            terms.merge(token, boost, Integer::sum);
+        return tokens.size() * boost;
+    }
+
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null)
+            return tokens;
+        Matcher m = WORD.matcher(text);
+        while (m.find()) {
+            String term = term(m.group());
+            if (term != null)
+                tokens.add(term);
+        }
+        return tokens;
+    }
+
+    /**
+     * Normalized index term for one word (lowercased, crudely singularized),
+     * or null for stopwords.
+     */
+    private static String term(String word) {
+        String w = word.toLowerCase(Locale.ROOT);
+        if (STOPWORDS.contains(w))
+            return null;
+        if (w.length() > 4 && w.endsWith("ies"))
+            return w.substring(0, w.length() - 3) + "y";
+        if (w.length() > 3 && w.endsWith("s") && !w.endsWith("ss"))
+            return w.substring(0, w.length() - 1);
+        return w;
+    }
+
+    /**
+     * HTML-escaped text with matching words wrapped in {@code <mark>}.
+     */
+    static String highlight(String text, Set<String> terms) {
+        StringBuilder out = new StringBuilder();
+        Matcher m = WORD.matcher(text);
+        int last = 0;
+        while (m.find()) {
+            if (terms.contains(term(m.group()))) {
+                out.append(HtmlUtils.htmlEscape(text.substring(last, m.start())))
+                        .append("<mark>").append(HtmlUtils.htmlEscape(m.group())).append("</mark>");
+                last = m.end();
+            }
+        }
+        return out.append(HtmlUtils.htmlEscape(text.substring(last))).toString();
+    }
+
+    /**
+     * Window of the summary or body around the first matching word,
+     * highlighted; the start of the summary when no word matches.
+     */
+    private static String snippet(Doc doc, Set<String> terms) {
+        for (String text : List.of(doc.summary, doc.body)) {
+            Matcher m = WORD.matcher(text);
+            while (m.find()) {
+                if (!terms.contains(term(m.group())))
+                    continue;
+                int start = Math.max(0, m.start() - SNIPPET_CHARS / 3);
+                while (start > 0 && !Character.isWhitespace(text.charAt(start - 1)))
+                    start--;
+                int end = Math.min(text.length(), start + SNIPPET_CHARS);
+                return (start > 0 ? "…" : "") + highlight(text.substring(start, end), terms)
+                        + (end < text.length() ? "…" : "");
+            }
+        }
+        String text = doc.summary.isEmpty() ? doc.body : doc.summary;
+        return HtmlUtils.htmlEscape(text.length() > SNIPPET_CHARS ? text.substring(0, SNIPPET_CHARS) + "…" : text);
+    }
+
+    private static final class Doc {
+        final String key;
+        final String type;
+        final long id;
+        final String title;
+        final String summary;
+        final String body;
+        final String url;
+        final LocalDateTime date;
+        final Map<String, List<String>> facets;
+        final Map<String, Integer> terms;
+        final int length;
+
+        Doc(SearchDocument d, Map<String, Integer> terms, int length) {
+            this.key = d.key();
+            this.type = d.getType();
+            this.id = d.getId();
+            this.title = d.getTitle();
+            this.summary = d.getSummary();
+            this.body = d.getBody().length() > STORED_BODY_CHARS
+                    ? d.getBody().substring(0, STORED_BODY_CHARS)
+                    : d.getBody();
+            this.url = d.getUrl();
+            this.date = d.getDate();
+            this.facets = new LinkedHashMap<>(d.getFacets());
+            this.terms = terms;
+            this.length = length;
+        }
+    }
+
+    private static final class Scored {
+        final Doc doc;
+        final double score;
+
+        Scored(Doc doc, double score) {
+            this.doc = doc;
+            this.score = score;
+        }
+    }
+
+    public static class Hit {
+        public final String type;
+        public final long id;
+        public final String title;
+        public final String url;
+        public final LocalDateTime date;
+        public final double score;
+        public final String titleHighlight;
+        public final String snippet;
+
+        Hit(String type, long id, String title, String url, LocalDateTime date, double score,
+                String titleHighlight, String snippet) {
+            this.type = type;
+            this.id = id;
+            this.title = title;
+            this.url = url;
+            this.date = date;
+            this.score = score;
+            this.titleHighlight = titleHighlight;
+            this.snippet = snippet;
+        }
+    }
+
+    public static class SearchResults {
+        public final int total;
+        public final List<Hit> hits;
+        public final Map<String, Map<String, Integer>> facets;
+
+        SearchResults(int total, List<Hit> hits, Map<String, Map<String, Integer>> facets) {
+            this.total = total;
+            this.hits = hits;
+            this.facets = facets;
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.universeodyssey.universe_odyssey.service.search;
+
+import com.universeodyssey.universe_odyssey.model.Blog;
+import com.universeodyssey.universe_odyssey.model.NewsArticle;
+import com.universeodyssey.universe_odyssey.repository.BlogRepository;
+import com.universeodyssey.universe_odyssey.repository.NewsArticleRepository;
+import com.universeodyssey.universe_odyssey.util.Transactions;
+import org.jsoup.Jsoup;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Keeps {@link SearchIndex} in step with the database: a full load at
+ * startup, then one document at a time from the news aggregator and from
+ * blog create/update/delete. Only visible news and published blogs are
+ * searchable. Blog changes made inside a transaction reach the index once it
+ * commits.
+ */
+@Service
+public class SearchIndexer {
+
+    private static final Logger logger = LoggerFactory.getLogger(SearchIndexer.class);
+
+    public static final String NEWS = "news";
+    public static final String BLOG = "blog";
+
+    private static final int LOAD_BATCH = 500;
+
+    private final SearchIndex index;
+    private final NewsArticleRepository newsRepository;
+    private final BlogRepository blogRepository;
+
+    public SearchIndexer(SearchIndex index, NewsArticleRepository newsRepository, BlogRepository blogRepository) {
+        this.index = index;
+        this.newsRepository = newsRepository;
+        this.blogRepository = blogRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadAll() {
+        long start = System.nanoTime();
+        try {
+            long lastId = 0;
+            List<NewsArticle> news;
+            do {
+                news = newsRepository.findByIdGreaterThanOrderByIdAsc(lastId, Limit.of(LOAD_BATCH));
+                for (NewsArticle article : news) {
+                    indexNews(article);
+                    lastId = article.getId();
+                }
+            } while (news.size() == LOAD_BATCH);
+
+            lastId = 0;
+            List<Blog> blogs;
+            do {
+                blogs = blogRepository.findByStatusAndIdGreaterThanOrderByIdAsc(Blog.BlogStatus.PUBLISHED, lastId,
+                        Limit.of(LOAD_BATCH));
+                for (Blog blog : blogs) {
+                    indexBlog(blog);
+                    lastId = blog.getId();
+                }
+            } while (blogs.size() == LOAD_BATCH);
+            logger.info("Search index loaded with {} documents in {} ms", index.size(),
+                    (System.nanoTime() - start) / 1_000_000);
+        } catch (RuntimeException e) {
+            logger.error("Failed to load search index: {}", e.getMessage(), e);
+        }
+    }
+
+    public void indexNews(NewsArticle article) {
+        if (article.getId() == null)
+            return;
+        if (article.isHidden()) {
+            index.remove(NEWS, article.getId());
+            return;
+        }
+        String body = article.getContent() != null && !article.getContent().equals(article.getSummary())
+                ? Jsoup.parse(article.getContent()).text()
+                : null;
+        index.put(new SearchDocument(NEWS, article.getId(), article.getTitle(), article.getSummary(), body,
+                "/news-detail.html?id=" + article.getId(), article.getPublishedDate())
+                .facet("source", article.getSource())
+                .facet("category", article.getCategory()));
+    }
+
+    public void indexBlog(Blog blog) {
+        Transactions.runAfterCommit(() -> putBlog(blog));
+    }
+
+    public void removeBlog(Long id) {
+        Transactions.runAfterCommit(() -> index.remove(BLOG, id));
+    }
+
+    private void putBlog(Blog blog) {
+        if (blog.getId() == null)
+            return;
+        if (blog.getStatus() != Blog.BlogStatus.PUBLISHED) {
+            index.remove(BLOG, blog.getId());
+            return;
+        }
+        SearchDocument document = new SearchDocument(BLOG, blog.getId(), blog.getTitle(), blog.getSummary(),
+                blog.getContent() != null ? Jsoup.parse(blog.getContent()).text() : null,
+                "/blogs/" + blog.getId(), blog.getCreatedAt());
+        if (blog.getTags() != null) {
+            for (String tag : blog.getTags().split(","))
+                document.facet("tag", tag.trim().toLowerCase());
+        }
+        index.put(document);
+    }
+}
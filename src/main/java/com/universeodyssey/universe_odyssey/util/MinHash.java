@@ -0,0 +1,86 @@
+package com.universeodyssey.universe_odyssey.util;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * MinHash signatures over words and adjacent word pairs, for estimating how
+ * much two short texts overlap. The hash functions are seeded so signatures
+ * are stable across restarts; callers keep their own seed and size so their
+ * stored signatures stay comparable.
+ */
+public final class MinHash {
+
+    private final int[] hashA;
+    private final int[] hashB;
+
+    public MinHash(int size, long seed) {
+        hashA = new int[size];
+        hashB = new int[size];
+        Random random = new Random(seed);
+        for (int i = 0; i < size; i++) {
+            hashA[i] = random.nextInt() | 1;
+            hashB[i] = random.nextInt();
+        }
+    }
+
+    public int size() {
+        return hashA.length;
+    }
+
+    /**
+     * Signature over the words and adjacent word pairs; null when there are
+     * no words.
+     */
+    public int[] signature(List<String> words) {
+        if (words.isEmpty())
+            return null;
+        Set<String> shingles = new LinkedHashSet<>(words);
+        for (int i = 1; i < words.size(); i++)
+            shingles.add(words.get(i - 1) + ' ' + words.get(i));
+
+        int[] signature = new int[hashA.length];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        for (String shingle : shingles) {
+            int h = shingle.hashCode();
+            for (int i = 0; i < signature.length; i++) {
+                int v = mix(h * hashA[i] + hashB[i]);
+                if (v < signature[i])
+                    signature[i] = v;
+            }
+        }
+        return signature;
+    }
+
+    /**
+     * Fraction of matching signature slots, an estimate of Jaccard similarity.
+     */
+    public static double similarity(int[] a, int[] b) {
+        int same = 0;
+        for (int i = 0; i < a.length; i++) {
+            if (a[i] == b[i])
+                same++;
+        }
+        return (double) same / a.length;
+    }
+
+    /**
+     * Crude singular: drops a trailing "s" from longer words, except "ss".
+     */
+    public static String singularize(String word) {
+        return word.length() > 3 && word.endsWith("s") && !word.endsWith("ss")
+                ? word.substring(0, word.length() - 1) : word;
+    }
+
+    private static int mix(int h) {
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+}
@@ -0,0 +1,27 @@
+package com.universeodyssey.universe_odyssey.util;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+public final class Transactions {
+
+    private Transactions() {
+    }
+
+    /**
+     * Run the action once the current transaction commits, or right away when
+     * there is none. A rolled-back transaction never runs it.
+     */
+    public static void runAfterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
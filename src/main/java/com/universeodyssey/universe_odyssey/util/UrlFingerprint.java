@@ -0,0 +1,88 @@
+package com.universeodyssey.universe_odyssey.util;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * 64-bit fingerprint of a canonicalized article URL, used as the unique
+ * duplicate key for news_articles.
+ *
+ * Canonical form: https, lower-case host without "www.", no default port, no
+ * fragment, no trailing slash, tracking parameters removed and the remaining
+ * query parameters sorted.
+ */
+public final class UrlFingerprint {
+
+    private static final Set<String> TRACKING_PARAMS = Set.of(
+            "fbclid", "gclid", "dclid", "msclkid", "mc_cid", "mc_eid", "igshid", "ref", "ref_src", "_ga");
+
+    private UrlFingerprint() {
+    }
+
+    public static Long of(String url) {
+        if (url == null || url.isBlank())
+            return null;
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(canonicalize(url).getBytes(StandardCharsets.UTF_8));
+            long h = 0;
+            for (int i = 0; i < 8; i++)
+                h = (h << 8) | (digest[i] & 0xff);
+            return h;
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    public static String canonicalize(String url) {
+        String trimmed = url.trim();
+        URI uri;
+        try {
+            uri = new URI(trimmed);
+        } catch (URISyntaxException e) {
+            return trimmed.toLowerCase(Locale.ROOT);
+        }
+        if (uri.getHost() == null)
+            return trimmed.toLowerCase(Locale.ROOT);
+
+        String host = uri.getHost().toLowerCase(Locale.ROOT);
+        if (host.startsWith("www."))
+            host = host.substring(4);
+        int port = uri.getPort();
+
+        StringBuilder sb = new StringBuilder("https://").append(host);
+        if (port != -1 && port != 80 && port != 443)
+            sb.append(':').append(port);
+
+        String path = uri.getRawPath() == null ? "" : uri.getRawPath();
+        while (path.length() > 1 && path.endsWith("/"))
+            path = path.substring(0, path.length() - 1);
+        sb.append(path.isEmpty() ? "/" : path);
+
+        String query = uri.getRawQuery();
+        if (query != null && !query.isEmpty()) {
+            List<String> params = new ArrayList<>();
+            for (String param : query.split("&")) {
+                if (param.isEmpty())
+                    continue;
+                String key = param.split("=", 2)[0].toLowerCase(Locale.ROOT);
+                if (key.startsWith("utm_") || TRACKING_PARAMS.contains(key))
+                    continue;
+                params.add(param);
+            }
+            if (!params.isEmpty()) {
+                Collections.sort(params);
+                sb.append('?').append(String.join("&", params));
+            }
+        }
+        return sb.toString();
+    }
+}
@@ -22,7 +22,7 @@ if (chatInput) {
   chatInput.placeholder = planet && planet !== 'Unknown' ? `Ask Cosmos anything about ${planet}...` : `Ask Cosmos anything...`;
 }
 
-const API_URL = "/api/gemini/chat";
+const API_URL = "/api/gemini/chat/stream";
 
 function scrollToBottom() {
   messagesEl.scrollTop = messagesEl.scrollHeight;
@@ -39,6 +39,7 @@ function renderMessage(type, text) {
   wrapper.appendChild(bubble);
   messagesEl.appendChild(wrapper);
   scrollToBottom();
+  return bubble;
 }
 
 function showTyping() {
@@ -57,37 +58,66 @@ function removeTyping() {
   if (t) t.remove();
 }
 
+// Parse one server-sent event block ("event:..." / "data:..." lines)
+function parseSseEvent(block) {
+  let name = "message";
+  const data = [];
+  for (const line of block.split("\n")) {
+    if (line.startsWith("event:")) name = line.slice(6).trim();
+    else if (line.startsWith("data:")) data.push(line.slice(5));
+  }
+  return { name, data: data.join("\n") };
+}
+
 async function sendToGemini(question) {
+  let bubble = null;
+  let answer = "";
   try {
     const payload = { question, planet };
 
     const response = await fetch(API_URL, {
       method: "POST",
-      headers: { "Content-Type": "application/json" },
+      headers: { "Content-Type": "application/json", "Accept": "text/event-stream" },
       body: JSON.stringify(payload)
     });
 
-    if (!response.ok) {
+    if (!response.ok || !response.body) {
       removeTyping();
       return renderMessage("ai", "Cosmos encountered an error. Try again.");
     }
 
-    const data = await response.json();
-    removeTyping();
-
-    let answer = null;
-    if (data?.candidates?.length > 0) {
-      const parts = data.candidates[0].content?.parts;
-      if (parts && parts.length > 0) {
-        answer = parts.map(p => p.text).join("\n\n");
+    // Render text as it streams in
+    const reader = response.body.getReader();
+    const decoder = new TextDecoder();
+    let buffer = "";
+    while (true) {
+      const { value, done } = await reader.read();
+      if (done) break;
+      buffer += decoder.decode(value, { stream: true }).replace(/\r/g, "");
+      let split;
+      while ((split = buffer.indexOf("\n\n")) >= 0) {
+        const event = parseSseEvent(buffer.slice(0, split));
+        buffer = buffer.slice(split + 2);
+        if (event.name === "chunk") {
+          if (!bubble) {
+            removeTyping();
+            bubble = renderMessage("ai", "");
+          }
+          answer += event.data;
+          bubble.innerText = answer;
+          scrollToBottom();
+        } else if (event.name === "error") {
+          throw new Error(event.data);
+        }
       }
     }
 
-    renderMessage("ai", answer || "Cosmos could not answer right now.");
+    removeTyping();
+    if (!bubble) renderMessage("ai", "Cosmos could not answer right now.");
   } catch (err) {
     console.error("Gemini error:", err);
     removeTyping();
-    renderMessage("ai", "Cosmos encountered an error. Try again.");
+    if (!bubble) renderMessage("ai", "Cosmos encountered an error. Try again.");
   }
 }
 
@@ -1,4 +1,4 @@
-import React, { useState, useEffect } from 'react';
+import React, { useState, useEffect, useRef } from 'react';
 import { useNavigate } from 'react-router-dom';
 import './News.css';
 
@@ -8,7 +8,9 @@ const News = () => {
     const [loading, setLoading] = useState(true);
     const [error, setError] = useState(null);
     const [currentPage, setCurrentPage] = useState(0);
-    const [totalPages, setTotalPages] = useState(0);
+    const [hasNext, setHasNext] = useState(false);
+    // cursors[n] loads page n; the feed has no page count
+    const cursors = useRef(['']);
     const [selectedSource, setSelectedSource] = useState('');
     const [selectedCategory, setSelectedCategory] = useState('');
     const [sources, setSources] = useState([]);
@@ -50,7 +52,8 @@ const News = () => {
         setError(null);
 
         try {
-            let url = `/api/news?page=${currentPage}&size=${pageSize}`;
+            let url = `/api/news/feed?size=${pageSize}`;
+            if (cursors.current[currentPage]) url += `&cursor=${encodeURIComponent(cursors.current[currentPage])}`;
             if (selectedSource) url += `&source=${selectedSource}`;
             if (selectedCategory) url += `&category=${selectedCategory}`;
 
@@ -59,7 +62,8 @@ const News = () => {
 
             const data = await response.json();
             setNews(data.content);
-            setTotalPages(data.totalPages);
+            cursors.current[currentPage + 1] = data.nextCursor;
+            setHasNext(data.hasNext);
             setLoading(false);
         } catch (err) {
             setError(err.message);
@@ -69,11 +73,13 @@ const News = () => {
 
     const handleSourceChange = (e) => {
         setSelectedSource(e.target.value);
+        cursors.current = [''];
         setCurrentPage(0);
     };
 
     const handleCategoryChange = (e) => {
         setSelectedCategory(e.target.value);
+        cursors.current = [''];
         setCurrentPage(0);
     };
 
@@ -197,7 +203,7 @@ const News = () => {
                                     {article.imageUrl && (
                                         <div className="md:w-1/3">
                                             <img
-                                                src={article.imageUrl}
+                                                src={`/img/news/${article.id}`}
                                                 alt={article.title}
                                                 className="w-full h-48 object-cover rounded-lg"
                                                 onError={(e) => { e.target.style.display = 'none'; }}
@@ -218,6 +224,9 @@ const News = () => {
                                             {article.title}
                                         </h2>
                                         <p className="text-gray-300 mb-4 line-clamp-3">{article.summary}</p>
+                                        {article.alsoReportedBy && article.alsoReportedBy.length > 0 && (
+                                            <p className="text-sm text-gray-500 mb-4">Also reported by {article.alsoReportedBy.join(', ')}</p>
+                                        )}
                                         <button className="text-blue-400 hover:text-blue-300 font-semibold flex items-center gap-2">
                                             Read More
                                             <svg className="w-4 h-4" fill="none" stroke="currentColor" viewBox="0 0 24 24">
@@ -240,7 +249,7 @@ const News = () => {
                 )}
 
                 {/* Pagination */}
-                {!loading && !error && totalPages > 1 && (
+                {!loading && !error && (currentPage > 0 || hasNext) && (
                     <div className="flex justify-center items-center gap-4 mt-12">
                         <button
                             onClick={() => handlePageChange(currentPage - 1)}
@@ -250,11 +259,11 @@ const News = () => {
                             Previous
                         </button>
                         <span className="text-gray-300">
-                            Page {currentPage + 1} of {totalPages}
+                            Page {currentPage + 1}
                         </span>
                         <button
                             onClick={() => handlePageChange(currentPage + 1)}
-                            disabled={currentPage >= totalPages - 1}
+                            disabled={!hasNext}
                             className="px-4 py-2 rounded-lg bg-gray-800 text-white disabled:opacity-50 disabled:cursor-not-allowed hover:bg-gray-700 transition-colors"
                         >
                             Next
@@ -0,0 +1,77 @@
+package com.universeodyssey.quiz.service;
+
+import com.universeodyssey.quiz.entity.Quiz;
+import com.universeodyssey.quiz.repository.QuizQuestionRepository;
+import com.universeodyssey.quiz.repository.QuizRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class QuizGenerationServiceTest {
+
+    private static final String QUIZ_JSON = "{\"quiz\":{\"questions\":[{\"question\":\"Closest planet to the Sun?\","
+            + "\"options\":[\"Mercury\",\"Venus\"],\"correct_index\":0,\"points\":10}]}}";
+
+    private final GeminiClientService geminiClient = mock(GeminiClientService.class);
+    private final QuizService quizService = mock(QuizService.class);
+    private final QuizRepository quizRepository = mock(QuizRepository.class);
+    private final QuizQuestionRepository questionRepository = mock(QuizQuestionRepository.class);
+    private final QuizGenerationService service = new QuizGenerationService(geminiClient, quizService,
+            quizRepository, questionRepository, 0, 1, 0, 0);
+
+    @AfterEach
+    void tearDown() {
+        service.stop();
+    }
+
+    private Quiz fallbackForToday() {
+        Quiz quiz = new Quiz();
+        quiz.setId(42L);
+        quiz.setDate(LocalDate.now());
+        when(quizRepository.findByDateBetween(any(), any())).thenReturn(List.of(quiz));
+        when(questionRepository.existsByQuizAndQuestionTextStartingWith(quiz, "Fallback Question ")).thenReturn(true);
+        return quiz;
+    }
+
+    @Test
+    void testFallbackQuizIsReplacedOnceGeminiRecovers() throws Exception {
+        Quiz quiz = fallbackForToday();
+        when(geminiClient.generateQuiz(quiz.getDate())).thenReturn(Optional.of(QUIZ_JSON));
+        when(quizService.replaceUnattemptedQuiz(eq(42L), eq(quiz.getDate()), anyList())).thenReturn(true);
+
+        assertTrue(service.replaceFallbackAsync(quiz).get(5, TimeUnit.SECONDS));
+        verify(quizService).replaceUnattemptedQuiz(eq(42L), eq(quiz.getDate()), argThat(q -> q.size() == 1));
+    }
+
+    @Test
+    void testFillBufferRetriesOnlyFallbackQuizzes() {
+        Quiz quiz = fallbackForToday();
+        when(geminiClient.generateQuiz(quiz.getDate())).thenReturn(Optional.of(QUIZ_JSON));
+
+        service.fillBuffer();
+        verify(quizService, timeout(5000)).replaceUnattemptedQuiz(eq(42L), eq(quiz.getDate()), anyList());
+
+        when(questionRepository.existsByQuizAndQuestionTextStartingWith(quiz, "Fallback Question ")).thenReturn(false);
+        clearInvocations(geminiClient);
+        service.fillBuffer();
+        verify(geminiClient, after(200).never()).generateQuiz(any());
+    }
+
+    @Test
+    void testFallbackQuizIsKeptWhileGeminiFails() throws Exception {
+        Quiz quiz = fallbackForToday();
+        when(geminiClient.generateQuiz(quiz.getDate())).thenReturn(Optional.empty());
+
+        assertFalse(service.replaceFallbackAsync(quiz).get(5, TimeUnit.SECONDS));
+        verify(quizService, never()).replaceUnattemptedQuiz(any(), any(), anyList());
+        verify(quizService, never()).saveGeneratedQuiz(any(), anyList());
+    }
+}
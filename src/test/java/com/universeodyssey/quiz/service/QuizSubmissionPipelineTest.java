@@ -0,0 +1,189 @@
+package com.universeodyssey.quiz.service;
+
+import com.universeodyssey.quiz.dto.SubmitQuizResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class QuizSubmissionPipelineTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final LeaderboardService leaderboardService = mock(LeaderboardService.class);
+    private final AttemptedUserIndex attemptIndex = mock(AttemptedUserIndex.class);
+    // what the mocked JdbcTemplate has "written": quizId:userId keys and point totals by user
+    private final Set<String> attempts = new HashSet<>();
+    private final Map<Long, Long> points = new HashMap<>();
+    private volatile boolean tracked = true;
+    private QuizSubmissionPipeline pipeline;
+
+    private void start(long flushIntervalMillis) throws Exception {
+        start(flushIntervalMillis, 5000);
+    }
+
+    private void start(long flushIntervalMillis, long submitTimeoutMillis) throws Exception {
+        when(attemptIndex.isTracked(anyLong())).thenAnswer(inv -> tracked);
+        when(jdbcTemplate.batchUpdate(startsWith("INSERT INTO quiz_attempt"), anyList())).thenAnswer(inv -> {
+            List<Object[]> rows = inv.getArgument(1);
+            for (Object[] row : rows) {
+                if (attempts.contains(row[0] + ":" + row[1]))
+                    throw new DuplicateKeyException("Duplicate entry for uk_quiz_user");
+            }
+            for (Object[] row : rows)
+                attempts.add(row[0] + ":" + row[1]);
+            return new int[rows.size()];
+        });
+        when(jdbcTemplate.batchUpdate(startsWith("INSERT INTO user_points"), anyList())).thenAnswer(inv -> {
+            List<Object[]> rows = inv.getArgument(1);
+            for (Object[] row : rows)
+                points.merge((Long) row[0], (Long) row[1], Long::sum);
+            return new int[rows.size()];
+        });
+        doAnswer(inv -> {
+            RowCallbackHandler handler = inv.getArgument(1);
+            for (Map.Entry<Long, Long> e : points.entrySet()) {
+                ResultSet rs = mock(ResultSet.class);
+                when(rs.getLong(1)).thenReturn(e.getKey());
+                when(rs.getLong(2)).thenReturn(e.getValue());
+                handler.processRow(rs);
+            }
+            return null;
+        }).when(jdbcTemplate).query(startsWith("SELECT user_id, total_points"), any(RowCallbackHandler.class), any(Object[].class));
+
+        pipeline = new QuizSubmissionPipeline(jdbcTemplate, mock(PlatformTransactionManager.class),
+                leaderboardService, attemptIndex, 200, flushIntervalMillis, submitTimeoutMillis, 100);
+        pipeline.start();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (pipeline != null)
+            pipeline.stop();
+    }
+
+    private CompletableFuture<SubmitQuizResponse> submitAsync(long quizId, long userId, int score) {
+        return CompletableFuture.supplyAsync(() -> pipeline.submit(quizId, userId, "user" + userId, "{}", score));
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<List<Object[]>> batches(String sqlStart) {
+        ArgumentCaptor<List<Object[]>> rows = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, atLeast(0)).batchUpdate(startsWith(sqlStart), rows.capture());
+        return rows.getAllValues();
+    }
+
+    @Test
+    void testSubmissionsWithinOneWindowAreWrittenAsOneBatch() throws Exception {
+        start(500);
+        List<CompletableFuture<SubmitQuizResponse>> futures = new ArrayList<>();
+        for (long userId = 1; userId <= 3; userId++)
+            futures.add(submitAsync(1L, userId, 10));
+        for (CompletableFuture<SubmitQuizResponse> f : futures)
+            assertEquals("Submitted", f.get(5, TimeUnit.SECONDS).message);
+
+        List<List<Object[]>> attemptBatches = batches("INSERT INTO quiz_attempt");
+        assertEquals(1, attemptBatches.size());
+        assertEquals(3, attemptBatches.get(0).size());
+        assertEquals(1, batches("INSERT INTO user_points").size());
+        verify(attemptIndex, times(3)).markAttempted(eq(1L), anyLong());
+    }
+
+    @Test
+    void testPointTotalsAddUpAcrossQuizzesInOneBatch() throws Exception {
+        points.put(1L, 100L);
+        start(500);
+        CompletableFuture<SubmitQuizResponse> first = submitAsync(1L, 1L, 10);
+        CompletableFuture<SubmitQuizResponse> second = submitAsync(2L, 1L, 5);
+
+        assertEquals(115L, first.get(5, TimeUnit.SECONDS).totalPoints);
+        assertEquals(115L, second.get(5, TimeUnit.SECONDS).totalPoints);
+        assertEquals(10, first.get().score);
+        // one upsert row carrying both increments
+        List<List<Object[]>> pointBatches = batches("INSERT INTO user_points");
+        assertEquals(1, pointBatches.size());
+        assertEquals(1, pointBatches.get(0).size());
+        assertEquals(15L, pointBatches.get(0).get(0)[1]);
+        verify(leaderboardService, times(2)).recordPoints(1L, "user1", 115L);
+    }
+
+    @Test
+    void testDuplicateKeyInBatchIsRetriedPerSubmission() throws Exception {
+        // user 2's attempt was written by another node after the duplicate probe
+        when(jdbcTemplate.queryForList(anyString(), eq(Long.class), any(Object[].class))).thenReturn(List.of());
+        attempts.add("1:2");
+        tracked = false;
+        start(500);
+        CompletableFuture<SubmitQuizResponse> fresh = submitAsync(1L, 1L, 10);
+        CompletableFuture<SubmitQuizResponse> raced = submitAsync(1L, 2L, 10);
+
+        SubmitQuizResponse ok = fresh.get(5, TimeUnit.SECONDS);
+        assertEquals("Submitted", ok.message);
+        assertEquals(10L, ok.totalPoints);
+        assertEquals("Already submitted", raced.get(5, TimeUnit.SECONDS).message);
+        // the batch, then each submission on its own
+        assertEquals(3, batches("INSERT INTO quiz_attempt").size());
+        verify(leaderboardService).recordPoints(1L, "user1", 10L);
+        verify(leaderboardService, never()).recordPoints(eq(2L), any(), anyLong());
+        assertFalse(points.containsKey(2L));
+    }
+
+    @Test
+    void testSlowBatchAnswersPendingAndStillCommits() throws Exception {
+        start(0, 100);
+        CountDownLatch release = new CountDownLatch(1);
+        when(attemptIndex.hasAttempted(1L, 1L)).thenAnswer(inv -> {
+            release.await(5, TimeUnit.SECONDS);
+            return false;
+        });
+
+        SubmitQuizResponse pending = pipeline.submit(1L, 1L, "user1", "{}", 10);
+        assertEquals("Pending", pending.message);
+        assertEquals(10, pending.score);
+        assertNull(pending.totalPoints);
+        assertEquals("Already submitted", pipeline.submit(1L, 1L, "user1", "{}", 10).message);
+
+        release.countDown();
+        verify(leaderboardService, timeout(5000)).recordPoints(1L, "user1", 10L);
+        assertTrue(attempts.contains("1:1"));
+    }
+
+    @Test
+    void testDoubleSubmitWhileInFlightIsRejected() throws Exception {
+        start(0);
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(attemptIndex.hasAttempted(1L, 1L)).thenAnswer(inv -> {
+            writing.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return false;
+        });
+        CompletableFuture<SubmitQuizResponse> first = submitAsync(1L, 1L, 10);
+        assertTrue(writing.await(5, TimeUnit.SECONDS));
+
+        SubmitQuizResponse second = pipeline.submit(1L, 1L, "user1", "{}", 10);
+        assertEquals("Already submitted", second.message);
+        assertNull(second.score);
+
+        release.countDown();
+        assertEquals("Submitted", first.get(5, TimeUnit.SECONDS).message);
+        assertEquals(1, batches("INSERT INTO quiz_attempt").size());
+    }
+}
@@ -0,0 +1,40 @@
+package com.universeodyssey.quiz.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.universeodyssey.quiz.dto.QuizDto;
+import com.universeodyssey.quiz.entity.Quiz;
+import com.universeodyssey.quiz.entity.QuizQuestion;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QuizTemplateTest {
+
+    @Test
+    void testDtoQuestionsAreCopiedPerRequest() {
+        Quiz quiz = new Quiz();
+        quiz.setId(1L);
+        quiz.setDate(LocalDate.of(2025, 3, 1));
+        QuizQuestion q = new QuizQuestion();
+        q.setId(10L);
+        q.setQuestionText("Closest planet to the Sun?");
+        q.setOptions("[\"Mercury\",\"Venus\"]");
+        q.setCorrectIndex(0);
+        q.setPoints(10);
+        QuizTemplate template = new QuizTemplate(quiz, List.of(q), new ObjectMapper());
+
+        QuizDto first = template.toDto(false, null);
+        first.questions.get(0).points = 0;
+        first.questions.get(0).questionText = "changed";
+
+        QuizDto second = template.toDto(false, null);
+        assertEquals(10, second.questions.get(0).points);
+        assertEquals("Closest planet to the Sun?", second.questions.get(0).questionText);
+        assertEquals(List.of("Mercury", "Venus"), second.questions.get(0).options);
+        assertEquals(10, template.score(Map.of(10L, 0)));
+    }
+}
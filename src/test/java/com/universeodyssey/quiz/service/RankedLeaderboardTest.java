@@ -0,0 +1,88 @@
+package com.universeodyssey.quiz.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RankedLeaderboardTest {
+
+    @Test
+    void testRanksFollowPointsThenUserId() {
+        RankedLeaderboard board = new RankedLeaderboard();
+        board.update(1L, "alice", 30);
+        board.update(2L, "bob", 50);
+        board.update(3L, "carol", 30);
+
+        assertEquals(1, board.rankOf(2L));
+        assertEquals(2, board.rankOf(1L));
+        assertEquals(3, board.rankOf(3L));
+        assertEquals(0, board.rankOf(99L));
+
+        List<RankedLeaderboard.Entry> top = board.top(2);
+        assertEquals(2, top.size());
+        assertEquals("bob", top.get(0).getUsername());
+        assertEquals("alice", top.get(1).getUsername());
+    }
+
+    @Test
+    void testUpdateMovesUserAndKeepsCachedUsername() {
+        RankedLeaderboard board = new RankedLeaderboard();
+        board.update(1L, "alice", 10);
+        board.update(2L, "bob", 20);
+
+        board.update(1L, null, 40);
+
+        assertEquals(1, board.rankOf(1L));
+        assertEquals("alice", board.get(1L).getUsername());
+        assertEquals(2, board.size());
+    }
+
+    @Test
+    void testRangeMatchesSortedOrder() {
+        RankedLeaderboard board = new RankedLeaderboard();
+        Random random = new Random(42);
+        List<RankedLeaderboard.Entry> expected = new ArrayList<>();
+        for (long id = 1; id <= 500; id++) {
+            long points = random.nextInt(200);
+            board.update(id, "u" + id, points);
+            expected.add(new RankedLeaderboard.Entry(id, "u" + id, points));
+        }
+        expected.sort(Comparator.comparingLong(RankedLeaderboard.Entry::getPoints).reversed()
+                .thenComparingLong(RankedLeaderboard.Entry::getUserId));
+
+        List<RankedLeaderboard.Entry> window = board.range(101, 20);
+        assertEquals(20, window.size());
+        for (int i = 0; i < window.size(); i++) {
+            assertEquals(expected.get(100 + i).getUserId(), window.get(i).getUserId());
+            assertEquals(101 + i, board.rankOf(window.get(i).getUserId()));
+        }
+        assertTrue(board.range(501, 10).isEmpty());
+    }
+
+    @Test
+    void testAroundClipsWindowAtBoardEdges() {
+        RankedLeaderboard board = new RankedLeaderboard();
+        for (long id = 1; id <= 10; id++) {
+            board.update(id, "u" + id, 100 - id);
+        }
+
+        RankedLeaderboard.Neighborhood first = board.around(1L, 3);
+        assertEquals(1, first.getRank());
+        assertEquals(1, first.getFirstRank());
+        assertEquals(4, first.getEntries().size());
+        assertEquals(10, first.getTotal());
+
+        RankedLeaderboard.Neighborhood middle = board.around(6L, 2);
+        assertEquals(6, middle.getRank());
+        assertEquals(4, middle.getFirstRank());
+        assertEquals(5, middle.getEntries().size());
+        assertEquals(6L, middle.getEntries().get(2).getUserId());
+
+        assertNull(board.around(42L, 2));
+    }
+}
@@ -0,0 +1,35 @@
+package com.universeodyssey.universe_odyssey;
+
+import com.universeodyssey.universe_odyssey.service.BlogRenderer;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BlogRendererTest {
+
+    private final BlogRenderer renderer = new BlogRenderer();
+
+    @Test
+    void testParagraphsAndLineBreaks() {
+        BlogRenderer.Rendered r = renderer.render("First line\nsecond line\n\nNext <b>para</b> & a < b");
+        assertEquals("<p>First line<br>second line</p><p>Next <b>para</b> &amp; a &lt; b</p>", r.html);
+    }
+
+    @Test
+    void testUnsafeMarkupIsRemoved() {
+        BlogRenderer.Rendered r = renderer.render(
+                "<script>alert(1)</script><a href=\"javascript:alert(1)\" onclick=\"x()\">link</a><img src=x onerror=y>");
+        assertFalse(r.html.contains("script"));
+        assertFalse(r.html.contains("onclick"));
+        assertFalse(r.html.contains("javascript"));
+        assertFalse(r.html.contains("<img"));
+        assertTrue(r.html.contains("link"));
+    }
+
+    @Test
+    void testHashFollowsRenderedHtml() {
+        assertEquals(renderer.render("Same text").hash, renderer.render("Same text\r\n").hash);
+        assertNotEquals(renderer.render("One").hash, renderer.render("Two").hash);
+        assertEquals(64, renderer.render("One").hash.length());
+    }
+}
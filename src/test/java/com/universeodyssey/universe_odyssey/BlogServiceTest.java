@@ -1,30 +1,45 @@
 package com.universeodyssey.universe_odyssey;
 
+import com.universeodyssey.universe_odyssey.dto.BlogFeedResponse;
+import com.universeodyssey.universe_odyssey.dto.BlogSummary;
 import com.universeodyssey.universe_odyssey.model.Blog;
 import com.universeodyssey.universe_odyssey.model.BlogComment;
 import com.universeodyssey.universe_odyssey.model.BlogLike;
-import com.universeodyssey.universe_odyssey.model.BlogView;
 import com.universeodyssey.universe_odyssey.model.User;
 import com.universeodyssey.universe_odyssey.repository.BlogCommentRepository;
 import com.universeodyssey.universe_odyssey.repository.BlogLikeRepository;
 import com.universeodyssey.universe_odyssey.repository.BlogRepository;
-import com.universeodyssey.universe_odyssey.repository.BlogViewRepository;
+import com.universeodyssey.universe_odyssey.service.BlogLikeCache;
+import com.universeodyssey.universe_odyssey.service.BlogRenderer;
 import com.universeodyssey.universe_odyssey.service.BlogService;
+import com.universeodyssey.universe_odyssey.service.BlogTrending;
+import com.universeodyssey.universe_odyssey.service.BlogViewCounter;
+import com.universeodyssey.universe_odyssey.service.search.SearchIndexer;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.ArgumentCaptor;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
 
+import java.time.LocalDateTime;
 import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 class BlogServiceTest {
@@ -39,7 +54,22 @@ class BlogServiceTest {
     private BlogCommentRepository commentRepository;
 
     @Mock
-    private BlogViewRepository viewRepository;
+    private BlogViewCounter viewCounter;
+
+    @Mock
+    private SearchIndexer searchIndexer;
+
+    @Mock
+    private BlogLikeCache likeCache;
+
+    @Mock
+    private BlogTrending trending;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Spy
+    private BlogRenderer renderer = new BlogRenderer();
 
     @InjectMocks
     private BlogService blogService;
@@ -62,29 +92,42 @@ class BlogServiceTest {
     }
 
     @Test
-    void testGetBlogById_IncrementsViewCount_WhenNotViewed() {
+    void testGetBlogById_RecordsView_WithoutWriting() {
         when(blogRepository.findById(1L)).thenReturn(Optional.of(blog));
-        when(viewRepository.existsByBlogAndUser(blog, user)).thenReturn(false);
 
         Optional<Blog> result = blogService.getBlogById(1L, user);
 
         assertTrue(result.isPresent());
-        assertEquals(1, result.get().getViewCount());
-        verify(viewRepository, times(1)).save(any(BlogView.class));
-        verify(blogRepository, times(1)).save(blog);
+        verify(viewCounter, times(1)).record(1L, 1L);
+        verify(blogRepository, never()).save(any(Blog.class));
     }
 
     @Test
-    void testGetBlogById_DoesNotIncrementViewCount_WhenAlreadyViewed() {
+    void testGetBlogById_DoesNotRecordView_WhenAnonymous() {
         when(blogRepository.findById(1L)).thenReturn(Optional.of(blog));
-        when(viewRepository.existsByBlogAndUser(blog, user)).thenReturn(true);
 
-        Optional<Blog> result = blogService.getBlogById(1L, user);
+        Optional<Blog> result = blogService.getBlogById(1L, null);
 
         assertTrue(result.isPresent());
-        assertEquals(0, result.get().getViewCount());
-        verify(viewRepository, never()).save(any(BlogView.class));
-        verify(blogRepository, never()).save(blog);
+        verifyNoInteractions(viewCounter);
+    }
+
+    @Test
+    void testGetPublishedSummaries_ContinuesAfterLastRow() {
+        LocalDateTime t = LocalDateTime.of(2025, 3, 1, 12, 0);
+        List<BlogSummary> rows = List.of(
+                new BlogSummary(9L, "Nine", "s", null, "A", 0L, 0L, 0L, t),
+                new BlogSummary(8L, "Eight", "s", null, "A", 0L, 0L, 0L, t),
+                new BlogSummary(7L, "Seven", "s", null, "A", 0L, 0L, 0L, t.minusDays(1)));
+        when(blogRepository.findSummariesAfter(eq(Blog.BlogStatus.PUBLISHED), any(), any(), any()))
+                .thenReturn(rows);
+
+        BlogFeedResponse first = blogService.getPublishedSummaries(null, 2);
+
+        assertEquals(2, first.getContent().size());
+        assertTrue(first.isHasNext());
+        blogService.getPublishedSummaries(first.getNextCursor(), 2);
+        verify(blogRepository).findSummariesAfter(eq(Blog.BlogStatus.PUBLISHED), eq(t), eq(8L), any());
     }
 
     @Test
@@ -96,6 +139,9 @@ class BlogServiceTest {
 
         assertTrue(liked);
         verify(likeRepository, times(1)).save(any(BlogLike.class));
+        verify(blogRepository, times(1)).addLikes(1L, 1);
+        verify(likeCache, times(1)).update(1L, 1L, true);
+        verify(trending, times(1)).recordLike(1L, true);
     }
 
     @Test
@@ -108,6 +154,8 @@ class BlogServiceTest {
 
         assertFalse(liked);
         verify(likeRepository, times(1)).delete(existingLike);
+        verify(blogRepository, times(1)).addLikes(1L, -1);
+        verify(likeCache, times(1)).update(1L, 1L, false);
     }
 
     @Test
@@ -121,5 +169,42 @@ class BlogServiceTest {
         assertEquals("Nice post!", comment.getContent());
         assertEquals(user, comment.getUser());
         assertEquals(blog, comment.getBlog());
+        verify(blogRepository, times(1)).addComments(1L, 1);
+    }
+
+    @Test
+    void testDeleteBlogAsAdmin_CleansUpDerivedState() {
+        User other = new User();
+        other.setId(2L);
+        blog.setAuthor(other);
+        when(blogRepository.findById(1L)).thenReturn(Optional.of(blog));
+
+        blogService.deleteBlogAsAdmin(1L);
+
+        verify(blogRepository).delete(blog);
+        verify(searchIndexer).removeBlog(1L);
+        verify(viewCounter).forgetBlog(1L);
+        verify(likeCache).forgetBlog(1L);
+        verify(trending).forgetBlog(1L);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testRenderMissing_WritesHtmlWithoutSavingEntities() {
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), anyLong()))
+                .thenReturn(List.of(new Object[] { 4L, "Hello" }, new Object[] { 9L, "World" }))
+                .thenReturn(List.of());
+
+        blogService.renderMissing();
+
+        ArgumentCaptor<List<Object[]>> rows = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(eq("UPDATE blogs SET content_html = ?, content_hash = ? WHERE id = ?"),
+                rows.capture());
+        assertEquals(2, rows.getValue().size());
+        assertEquals("<p>Hello</p>", rows.getValue().get(0)[0]);
+        assertEquals(9L, rows.getValue().get(1)[2]);
+        // the second page starts after the last id
+        verify(jdbcTemplate).query(anyString(), any(RowMapper.class), eq(9L));
+        verify(blogRepository, never()).saveAll(anyList());
     }
 }
@@ -0,0 +1,98 @@
+package com.universeodyssey.universe_odyssey;
+
+import com.universeodyssey.universe_odyssey.service.BlogViewCounter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class BlogViewCounterTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private BlogViewCounter counter;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        counter = new BlogViewCounter(jdbcTemplate, mock(PlatformTransactionManager.class));
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Object[]> batch(String sqlStart) {
+        ArgumentCaptor<List<Object[]>> rows = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(startsWith(sqlStart), rows.capture());
+        return rows.getValue();
+    }
+
+    @Test
+    void testRepeatViewsAreCountedOnceAndFlushedAsBatches() {
+        counter.load();
+        counter.record(7L, 1L);
+        counter.record(7L, 1L);
+        counter.record(7L, 2L);
+        counter.record(8L, 1L);
+        counter.flush();
+
+        assertEquals(3, batch("INSERT IGNORE INTO blog_views").size());
+        List<Object[]> counts = batch("UPDATE blogs");
+        assertEquals(2, counts.size());
+        assertArrayEquals(new Object[] { 2L, 7L }, counts.get(0));
+        assertArrayEquals(new Object[] { 1L, 8L }, counts.get(1));
+
+        // nothing new to write
+        clearInvocations(jdbcTemplate);
+        counter.record(7L, 2L);
+        counter.flush();
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+    }
+
+    @Test
+    void testViewsBeforeLoadAreCheckedAgainstTable() {
+        counter.record(7L, 1L);
+        counter.record(7L, 2L);
+        when(jdbcTemplate.queryForList(anyString(), eq(Long.class), any(Object[].class))).thenReturn(List.of(1L));
+        counter.flush();
+
+        List<Object[]> views = batch("INSERT IGNORE INTO blog_views");
+        assertEquals(1, views.size());
+        assertEquals(2L, views.get(0)[1]);
+        assertArrayEquals(new Object[] { 1L, 7L }, batch("UPDATE blogs").get(0));
+    }
+
+    @Test
+    void testForgottenBlogIsNotWritten() {
+        counter.load();
+        counter.record(7L, 1L);
+        counter.record(8L, 5_000_000_000L);
+        counter.forgetBlog(7L);
+        counter.flush();
+
+        List<Object[]> views = batch("INSERT IGNORE INTO blog_views");
+        assertEquals(1, views.size());
+        assertEquals(5_000_000_000L, views.get(0)[1]);
+        List<Object[]> counts = batch("UPDATE blogs");
+        assertEquals(1, counts.size());
+        assertArrayEquals(new Object[] { 1L, 8L }, counts.get(0));
+    }
+
+    @Test
+    void testFailedFlushIsRetried() {
+        counter.load();
+        counter.record(7L, 1L);
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenThrow(new IllegalStateException("down"));
+        counter.flush();
+
+        reset(jdbcTemplate);
+        counter.flush();
+        assertEquals(1, batch("INSERT IGNORE INTO blog_views").size());
+        assertArrayEquals(new Object[] { 1L, 7L }, batch("UPDATE blogs").get(0));
+    }
+}
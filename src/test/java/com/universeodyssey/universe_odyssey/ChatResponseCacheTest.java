@@ -0,0 +1,56 @@
+package com.universeodyssey.universe_odyssey;
+
+import com.universeodyssey.universe_odyssey.service.ChatResponseCache;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChatResponseCacheTest {
+
+    @Test
+    void testExactAndNearDuplicateQuestionsHit() {
+        ChatResponseCache cache = new ChatResponseCache(100, 60, 0.8);
+        cache.put("Mars", "How many moons does Mars have?", "Two: Phobos and Deimos.");
+
+        assertEquals(Optional.of("Two: Phobos and Deimos."), cache.get("mars", "how many moons does mars have"));
+        assertEquals(Optional.of("Two: Phobos and Deimos."), cache.get("Mars", "How many moons has Mars got?"));
+        assertEquals(1L, cache.stats().get("exactHits"));
+        assertEquals(1L, cache.stats().get("similarHits"));
+    }
+
+    @Test
+    void testDifferentQuestionOrPlanetMisses() {
+        ChatResponseCache cache = new ChatResponseCache(100, 60, 0.8);
+        cache.put("Mars", "What is the radius of Mars?", "About 3,390 km.");
+
+        assertTrue(cache.get("Mars", "What is the mass of Mars?").isEmpty());
+        assertTrue(cache.get("Venus", "What is the radius of Mars?").isEmpty());
+        assertEquals(2L, cache.stats().get("misses"));
+    }
+
+    @Test
+    void testDifferentQuestionWordMisses() {
+        ChatResponseCache cache = new ChatResponseCache(100, 60, 0.8);
+        cache.put("Mars", "When did Curiosity land on Mars?", "August 2012.");
+        cache.put("Mars", "What is Mars?", "The fourth planet from the Sun.");
+
+        assertTrue(cache.get("Mars", "Where did Curiosity land on Mars?").isEmpty());
+        assertTrue(cache.get("Mars", "Where is Mars?").isEmpty());
+        assertEquals(2L, cache.stats().get("misses"));
+    }
+
+    @Test
+    void testLeastRecentlyUsedEntryIsEvicted() {
+        ChatResponseCache cache = new ChatResponseCache(2, 60, 0.8);
+        cache.put("Mars", "radius", "r");
+        cache.put("Mars", "gravity", "g");
+        cache.get("Mars", "radius");
+        cache.put("Mars", "temperature", "t");
+
+        assertTrue(cache.get("Mars", "gravity").isEmpty());
+        assertEquals(Optional.of("r"), cache.get("Mars", "radius"));
+        assertEquals(1L, cache.stats().get("evictions"));
+    }
+}
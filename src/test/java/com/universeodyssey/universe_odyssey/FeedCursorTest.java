@@ -0,0 +1,28 @@
+package com.universeodyssey.universe_odyssey;
+
+import com.universeodyssey.universe_odyssey.service.FeedCursor;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FeedCursorTest {
+
+    @Test
+    void testCursorRoundTrips() {
+        FeedCursor first = FeedCursor.decode(null);
+        String encoded = Base64.getUrlEncoder().withoutPadding().encodeToString("2024-05-01T10:15:30|42".getBytes());
+        FeedCursor cursor = FeedCursor.decode(FeedCursor.decode(encoded).encode());
+        assertEquals(LocalDateTime.of(2024, 5, 1, 10, 15, 30), cursor.getTimestamp());
+        assertEquals(42L, cursor.getId());
+        assertTrue(first.getTimestamp().isAfter(cursor.getTimestamp()));
+    }
+
+    @Test
+    void testMalformedCursorIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> FeedCursor.decode("not-a-cursor"));
+        assertThrows(IllegalArgumentException.class, () -> FeedCursor.decode("!!"));
+    }
+}
@@ -0,0 +1,74 @@
+package com.universeodyssey.universe_odyssey;
+
+import com.universeodyssey.universe_odyssey.model.NewsArticle;
+import com.universeodyssey.universe_odyssey.service.news.NewsClusterIndex;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NewsClusterIndexTest {
+
+    private static NewsArticle article(String title, String summary) {
+        NewsArticle a = new NewsArticle();
+        a.setTitle(title);
+        a.setSummary(summary);
+        a.setPublishedDate(LocalDateTime.now());
+        return a;
+    }
+
+    @Test
+    void testRelabelledStoryJoinsStoredCluster() {
+        NewsClusterIndex index = new NewsClusterIndex(0.5, 7);
+        Map<Long, NewsArticle> first = new LinkedHashMap<>();
+        first.put(1L, article("ISRO launches PSLV-C58 carrying XPoSat",
+                "ISRO's PSLV-C58 lifted off from Sriharikota carrying the X-ray Polarimeter Satellite into orbit."));
+        NewsClusterIndex.Plan stored = index.plan(first);
+        assertEquals(1L, stored.clusterOf(1L));
+        index.add(stored);
+
+        Map<Long, NewsArticle> next = new LinkedHashMap<>();
+        next.put(2L, article("ISRO launches PSLV-C58 carrying XPoSat",
+                "ISRO's PSLV-C58 lifted off from Sriharikota carrying the X-ray Polarimeter Satellite into orbit."));
+        next.put(3L, article("Webb spots water vapour around distant exoplanet",
+                "The James Webb Space Telescope detected water vapour in the atmosphere of a hot Neptune."));
+        NewsClusterIndex.Plan plan = index.plan(next);
+        assertEquals(1L, plan.clusterOf(2L));
+        assertEquals(3L, plan.clusterOf(3L));
+    }
+
+    @Test
+    void testNearDuplicatesInOneBatchShareCluster() {
+        NewsClusterIndex index = new NewsClusterIndex(0.5, 7);
+        Map<Long, NewsArticle> batch = new LinkedHashMap<>();
+        batch.put(10L, article("Starship completes fifth test flight with booster catch",
+                "SpaceX caught the Super Heavy booster with the launch tower arms during Starship's fifth flight test."));
+        batch.put(11L, article("Starship completes fifth test flight with booster catch",
+                "SpaceX caught the Super Heavy booster with the launch tower arms during Starship's fifth flight."));
+        NewsClusterIndex.Plan plan = index.plan(batch);
+        assertEquals(10L, plan.clusterOf(10L));
+        assertEquals(10L, plan.clusterOf(11L));
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    void testOnlyStoredArticlesOfPlanAreIndexed() {
+        NewsClusterIndex index = new NewsClusterIndex(0.5, 7);
+        Map<Long, NewsArticle> batch = new LinkedHashMap<>();
+        batch.put(20L, article("Europa Clipper begins its cruise to Jupiter",
+                "NASA's Europa Clipper spacecraft launched on a Falcon Heavy to study Jupiter's icy moon."));
+        batch.put(21L, article("Perseverance reaches the rim of Jezero crater",
+                "The Mars rover climbed out of Jezero crater after three and a half years exploring its floor."));
+        index.add(index.plan(batch), Set.of(21L));
+
+        assertEquals(1, index.size());
+        Map<Long, NewsArticle> next = new LinkedHashMap<>();
+        next.put(22L, article("Europa Clipper begins its cruise to Jupiter",
+                "NASA's Europa Clipper spacecraft launched on a Falcon Heavy to study Jupiter's icy moon."));
+        assertEquals(22L, index.plan(next).clusterOf(22L));
+    }
+}
@@ -0,0 +1,138 @@
+package com.universeodyssey.universe_odyssey;
+
+import com.universeodyssey.universe_odyssey.model.NewsArticle;
+import com.universeodyssey.universe_odyssey.repository.NewsArticleRepository;
+import com.universeodyssey.universe_odyssey.service.http.BulkheadRejectedException;
+import com.universeodyssey.universe_odyssey.service.http.Integration;
+import com.universeodyssey.universe_odyssey.service.http.OutboundHttpClient;
+import com.universeodyssey.universe_odyssey.service.news.NewsThumbnailService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class NewsThumbnailServiceTest {
+
+    @TempDir
+    Path dir;
+
+    private static byte[] png(int width, int height) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB), "png", out);
+        return out.toByteArray();
+    }
+
+    private static NewsArticle article(long id) {
+        NewsArticle a = new NewsArticle();
+        a.setId(id);
+        a.setImageUrl("https://example.org/" + id + ".png");
+        return a;
+    }
+
+    @Test
+    void testThumbnailIsScaledAndDownloadedOnce() throws Exception {
+        NewsArticleRepository repository = mock(NewsArticleRepository.class);
+        OutboundHttpClient http = mock(OutboundHttpClient.class);
+        when(repository.findById(1L)).thenReturn(Optional.of(article(1)));
+        when(http.getBytes(eq(Integration.NEWS_IMAGES), anyString())).thenReturn(png(2000, 1000));
+        NewsThumbnailService service = new NewsThumbnailService(repository, http, dir.toString(), 1 << 20, 640, 0.8f);
+        service.loadDirectory();
+
+        MappedByteBuffer first = service.thumbnail(1).orElseThrow();
+        byte[] jpeg = new byte[first.remaining()];
+        first.get(jpeg);
+        BufferedImage thumb = ImageIO.read(new ByteArrayInputStream(jpeg));
+        assertEquals(640, thumb.getWidth());
+        assertEquals(320, thumb.getHeight());
+
+        assertTrue(service.thumbnail(1).isPresent());
+        verify(http, times(1)).getBytes(eq(Integration.NEWS_IMAGES), anyString());
+        service.stop();
+    }
+
+    @Test
+    void testLeastRecentlyUsedFileIsEvictedOverBudget() throws Exception {
+        NewsArticleRepository repository = mock(NewsArticleRepository.class);
+        OutboundHttpClient http = mock(OutboundHttpClient.class);
+        for (long id = 1; id <= 3; id++)
+            when(repository.findById(id)).thenReturn(Optional.of(article(id)));
+        when(http.getBytes(eq(Integration.NEWS_IMAGES), anyString())).thenReturn(png(400, 300));
+
+        NewsThumbnailService probe = new NewsThumbnailService(repository, http, dir.resolve("probe").toString(),
+                1 << 20, 400, 0.8f);
+        probe.loadDirectory();
+        long size = probe.thumbnail(1).orElseThrow().remaining();
+        probe.stop();
+
+        // room for two thumbnails
+        NewsThumbnailService service = new NewsThumbnailService(repository, http, dir.toString(),
+                size * 2 + size / 2, 400, 0.8f);
+        service.loadDirectory();
+        service.thumbnail(1);
+        service.thumbnail(2);
+        service.thumbnail(1);
+        service.thumbnail(3);
+
+        assertTrue(Files.exists(dir.resolve("1.jpg")));
+        assertFalse(Files.exists(dir.resolve("2.jpg")));
+        assertTrue(Files.exists(dir.resolve("3.jpg")));
+        service.stop();
+    }
+
+    @Test
+    void testPregenerationStaysWithinBulkhead() throws Exception {
+        NewsArticleRepository repository = mock(NewsArticleRepository.class);
+        OutboundHttpClient http = mock(OutboundHttpClient.class);
+        when(http.maxConcurrent(Integration.NEWS_IMAGES)).thenReturn(2);
+        byte[] image = png(400, 300);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        when(http.getBytes(eq(Integration.NEWS_IMAGES), anyString())).thenAnswer(inv -> {
+            peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+            Thread.sleep(20);
+            running.decrementAndGet();
+            return image;
+        });
+        NewsThumbnailService service = new NewsThumbnailService(repository, http, dir.toString(), 1 << 24, 400, 0.8f);
+        service.loadDirectory();
+
+        List<NewsArticle> articles = new ArrayList<>();
+        for (long id = 1; id <= 12; id++)
+            articles.add(article(id));
+        service.generateAsync(articles);
+
+        verify(http, timeout(5000).times(12)).getBytes(eq(Integration.NEWS_IMAGES), anyString());
+        assertTrue(peak.get() <= 2);
+        service.stop();
+    }
+
+    @Test
+    void testBulkheadRejectionIsNotRecordedAsFailure() throws Exception {
+        NewsArticleRepository repository = mock(NewsArticleRepository.class);
+        OutboundHttpClient http = mock(OutboundHttpClient.class);
+        when(repository.findById(1L)).thenReturn(Optional.of(article(1)));
+        when(http.getBytes(eq(Integration.NEWS_IMAGES), anyString()))
+                .thenThrow(new BulkheadRejectedException(Integration.NEWS_IMAGES))
+                .thenReturn(png(400, 300));
+        NewsThumbnailService service = new NewsThumbnailService(repository, http, dir.toString(), 1 << 20, 400, 0.8f);
+        service.loadDirectory();
+
+        assertTrue(service.thumbnail(1).isEmpty());
+        assertTrue(service.thumbnail(1).isPresent());
+        service.stop();
+    }
+}
@@ -0,0 +1,89 @@
+package com.universeodyssey.universe_odyssey;
+
+import com.sun.net.httpserver.HttpServer;
+import com.universeodyssey.universe_odyssey.service.http.Integration;
+import com.universeodyssey.universe_odyssey.service.http.OutboundHttpClient;
+import com.universeodyssey.universe_odyssey.service.http.OutboundHttpException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OutboundHttpClientTest {
+
+    private HttpServer server;
+    private OutboundHttpClient client;
+    private String url;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        // a slow stream: one line every 100 ms for up to 30 s
+        server.createContext("/stream", exchange -> {
+            exchange.sendResponseHeaders(200, 0);
+            try (OutputStream out = exchange.getResponseBody()) {
+                for (int i = 0; i < 300; i++) {
+                    out.write(("line " + i + "\n").getBytes(StandardCharsets.UTF_8));
+                    out.flush();
+                    Thread.sleep(100);
+                }
+            } catch (Exception e) {
+                // client went away
+            }
+        });
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+        url = "http://127.0.0.1:" + server.getAddress().getPort() + "/stream";
+
+        MockEnvironment env = new MockEnvironment().withProperty("http.gemini.max-concurrent", "1");
+        client = new OutboundHttpClient(HttpClient.newHttpClient(), env, 250);
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void testConsumerFailureEndsStreamAndReleasesPermit() throws Exception {
+        CompletableFuture<Void> first = client.streamLines(Integration.GEMINI, OutboundHttpClient.request(url).GET(),
+                line -> {
+                    throw new IllegalStateException("browser went away");
+                });
+        ExecutionException failure = assertThrows(ExecutionException.class, () -> first.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(OutboundHttpException.class, failure.getCause());
+
+        // the only permit is free again
+        List<String> lines = new CopyOnWriteArrayList<>();
+        CompletableFuture<Void> second = client.streamLines(Integration.GEMINI, OutboundHttpClient.request(url).GET(),
+                lines::add);
+        assertFalse(second.isCompletedExceptionally());
+        second.cancel(true);
+    }
+
+    @Test
+    void testCancelReleasesPermit() throws Exception {
+        CompletableFuture<Void> first = client.streamLines(Integration.GEMINI, OutboundHttpClient.request(url).GET(),
+                line -> { });
+        first.cancel(true);
+
+        CompletableFuture<Void> second = client.streamLines(Integration.GEMINI, OutboundHttpClient.request(url).GET(),
+                line -> { });
+        Thread.sleep(300);
+        assertFalse(second.isCompletedExceptionally());
+        second.cancel(true);
+    }
+}
@@ -0,0 +1,53 @@
+package com.universeodyssey.universe_odyssey;
+
+import com.universeodyssey.universe_odyssey.service.search.SearchDocument;
+import com.universeodyssey.universe_odyssey.service.search.SearchIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SearchIndexTest {
+
+    private SearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new SearchIndex();
+        index.put(new SearchDocument("news", 1, "Europa Clipper launches to Jupiter's moon",
+                "NASA's Europa Clipper lifted off on a Falcon Heavy.", null, "/news-detail.html?id=1",
+                LocalDateTime.now()).facet("source", "NASA").facet("category", "Launches"));
+        index.put(new SearchDocument("news", 2, "Webb studies exoplanet atmospheres",
+                "The telescope compared the spectra of several worlds, including icy moons like Europa.", null,
+                "/news-detail.html?id=2", LocalDateTime.now()).facet("source", "ESA").facet("category", "Research"));
+        index.put(new SearchDocument("blog", 3, "Why I love the night sky", "Stargazing notes",
+                "Tonight Jupiter and its moons were visible <b>again</b>.", "/blogs/3", LocalDateTime.now())
+                .facet("tag", "jupiter"));
+    }
+
+    @Test
+    void testTitleMatchRanksFirstWithHighlightsAndFacets() {
+        SearchIndex.SearchResults results = index.search("europa moons", Map.of(), 0, 10);
+
+        assertEquals(3, results.total);
+        assertEquals(1L, results.hits.get(0).id);
+        assertTrue(results.hits.get(0).titleHighlight.contains("<mark>Europa</mark>"));
+        assertTrue(results.hits.get(0).titleHighlight.contains("<mark>moon</mark>"));
+        assertEquals(2, results.facets.get("type").get("news"));
+        assertEquals(1, results.facets.get("tag").get("jupiter"));
+        assertTrue(results.hits.stream().anyMatch(h -> h.snippet.contains("&lt;b&gt;")));
+    }
+
+    @Test
+    void testFiltersAndRemoval() {
+        assertEquals(1, index.search("europa", Map.of("source", "esa"), 0, 10).total);
+
+        index.remove("news", 1);
+        SearchIndex.SearchResults results = index.search("clipper", Map.of(), 0, 10);
+        assertEquals(0, results.total);
+        assertEquals(2, index.size());
+    }
+}
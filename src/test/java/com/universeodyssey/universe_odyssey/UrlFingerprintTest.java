@@ -0,0 +1,25 @@
+package com.universeodyssey.universe_odyssey;
+
+import com.universeodyssey.universe_odyssey.util.UrlFingerprint;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UrlFingerprintTest {
+
+    @Test
+    void testCanonicalizeStripsTrackingAndNormalizesForm() {
+        assertEquals("https://esa.int/Science/Mars?id=7&page=2",
+                UrlFingerprint.canonicalize(
+                        "http://WWW.ESA.int:80/Science/Mars/?page=2&utm_source=rss&id=7&fbclid=abc#top"));
+    }
+
+    @Test
+    void testSameArticleGetsSameFingerprint() {
+        assertEquals(UrlFingerprint.of("https://spaceflightnow.com/2024/launch/"),
+                UrlFingerprint.of("http://www.spaceflightnow.com/2024/launch?utm_medium=feed"));
+        assertNotEquals(UrlFingerprint.of("https://spaceflightnow.com/2024/launch"),
+                UrlFingerprint.of("https://spaceflightnow.com/2024/landing"));
+        assertNull(UrlFingerprint.of(" "));
+    }
+}
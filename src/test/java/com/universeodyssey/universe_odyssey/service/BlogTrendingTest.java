@@ -0,0 +1,80 @@
+package com.universeodyssey.universe_odyssey.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class BlogTrendingTest {
+
+    private static final long HOUR = 3_600_000L;
+
+    private static BlogTrending trending(int topK) {
+        return new BlogTrending(mock(JdbcTemplate.class), mock(PlatformTransactionManager.class), 24, 1, 3, 5, topK);
+    }
+
+    @Test
+    void testScoresHalveEveryHalfLife() {
+        BlogTrending trending = trending(10);
+        long start = System.currentTimeMillis();
+        trending.apply(1L, 8, start);
+        trending.refresh(start + 48 * HOUR);
+        assertEquals(2.0, trending.top(1).get(0).score, 1e-9);
+    }
+
+    @Test
+    void testRecentActivityOutranksOlderActivity() {
+        BlogTrending trending = trending(2);
+        long start = System.currentTimeMillis();
+        trending.apply(1L, 10, start);
+        trending.apply(2L, 6, start + 24 * HOUR);
+        trending.apply(3L, 1, start + 24 * HOUR);
+        // far enough out to move the landmark
+        trending.apply(4L, 0.5, start + 5000 * HOUR);
+        trending.apply(2L, 1, start + 5000 * HOUR);
+        trending.refresh(start + 5000 * HOUR);
+
+        List<BlogTrending.Ranked> top = trending.top(10);
+        assertEquals(2, top.size());
+        assertEquals(2L, top.get(0).blogId);
+        assertEquals(4L, top.get(1).blogId);
+    }
+
+    @Test
+    void testUnlikeRemovesScore() {
+        BlogTrending trending = trending(10);
+        long now = System.currentTimeMillis();
+        trending.apply(1L, 3, now);
+        trending.apply(1L, -3, now);
+        trending.refresh(now);
+        assertTrue(trending.top(10).isEmpty());
+    }
+
+    @Test
+    void testLongDoubleMapMatchesHashMap() {
+        LongDoubleMap map = new LongDoubleMap(4);
+        Map<Long, Double> expected = new HashMap<>();
+        Random random = new Random(7);
+        for (int i = 0; i < 20_000; i++) {
+            long key = random.nextInt(500);
+            if (random.nextInt(4) == 0) {
+                map.remove(key);
+                expected.remove(key);
+            } else {
+                map.add(key, 1);
+                expected.merge(key, 1.0, Double::sum);
+            }
+        }
+        map.removeBelow(3);
+        expected.values().removeIf(v -> v < 3);
+        assertEquals(expected.size(), map.size());
+        expected.forEach((k, v) -> assertEquals(v, map.get(k)));
+    }
+}
@@ -0,0 +1,64 @@
+package com.universeodyssey.universe_odyssey.service.news;
+
+import com.universeodyssey.universe_odyssey.model.NewsArticle;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class NewsFeedParsingTest {
+
+    @Test
+    void testRssItemsStreamedUpToLimit() throws Exception {
+        EsaRssFeedClient client = new EsaRssFeedClient(mock(ConditionalFetcher.class));
+        ReflectionTestUtils.setField(client, "fetchLimit", 2);
+        String rss = """
+                <?xml version="1.0" encoding="UTF-8"?>
+                <rss version="2.0" xmlns:media="http://search.yahoo.com/mrss/"><channel><title>ESA</title>
+                <item><title>Ariane 6 launch</title><media:title>ignored</media:title>
+                <link>https://www.esa.int/a6</link>
+                <description><![CDATA[<p><img src="/images/a6.jpg"/>Ariane&nbsp;6 <b>lifts</b> off</p>]]></description>
+                <pubDate>Tue, 09 Jul 2024 19:00:00 GMT</pubDate></item>
+                <item><title>Second</title><link>https://www.esa.int/2</link><description>Two</description></item>
+                <item><title>Third</title><link>https://www.esa.int/3</link><description>Three</description></item>
+                </channel></rss>""";
+
+        List<NewsArticle> articles = client.parseFeed(rss.getBytes(StandardCharsets.UTF_8));
+
+        assertEquals(2, articles.size());
+        NewsArticle first = articles.get(0);
+        assertEquals("Ariane 6 launch", first.getTitle());
+        assertEquals("Ariane 6 lifts off", first.getSummary());
+        assertEquals("https://www.esa.int/images/a6.jpg", first.getImageUrl());
+        assertEquals("Launches", first.getCategory());
+        assertEquals(2024, first.getPublishedDate().getYear());
+    }
+
+    @Test
+    void testPressReleasesTakeFirstLinkOfEachRow() {
+        IsroNewsScraperClient client = new IsroNewsScraperClient(null, mock(ConditionalFetcher.class));
+        ReflectionTestUtils.setField(client, "fetchLimit", 50);
+        String html = """
+                <html><head><script>var x = "<tr><a href='/no'>no</a>";</script></head><body>
+                <table>
+                <tr><td><a href="/Chandrayaan3.html">Chandrayaan-3
+                    lands</a></td><td><a href="/other.html">PDF</a></td>
+                <tr><td>No link here</td></tr>
+                <tr><td><a href="javascript:void(0)">Skip</a></td></tr>
+                </table>
+                <div class="card press-release-item"><a href="https://www.isro.gov.in/Aditya.html">Aditya-L1 mission</a></div>
+                </body></html>""";
+
+        List<NewsArticle> articles = client.parsePressReleases(html, "https://www.isro.gov.in/PressRelease.html");
+
+        assertEquals(2, articles.size());
+        assertEquals("Chandrayaan-3 lands", articles.get(0).getTitle());
+        assertEquals("https://www.isro.gov.in/Chandrayaan3.html", articles.get(0).getOriginalUrl());
+        assertEquals("https://www.isro.gov.in/Aditya.html", articles.get(1).getOriginalUrl());
+        assertEquals("Missions", articles.get(1).getCategory());
+    }
+}